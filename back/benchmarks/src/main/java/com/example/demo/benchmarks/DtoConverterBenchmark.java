@@ -0,0 +1,33 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.dto.DtoConverter;
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.model.Resume;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoConverterBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    private ResumeFixtures.Size size;
+
+    private final DtoConverter converter = new DtoConverter();
+    private Resume resume;
+
+    @Setup
+    public void setup() {
+        resume = ResumeFixtures.resume(size, "classic");
+    }
+
+    @Benchmark
+    public ResumeDto convertToDto() {
+        return converter.convertToDto(resume);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.security.jwt.JwtUtils;
+import com.example.demo.security.services.UserDetailsImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks as AuthTokenFilter runs them: validateJwtToken is served from the verified-token cache
+ * after the first call, fullParse verifies the signature every time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET =
+            "c5903affba08f7378b8d1ea40c67c11a41cb6a3d2dcd77187ec1132535e1619f98716860fbfdd36e715b8826f33a34838f";
+
+    private AnnotationConfigApplicationContext context;
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setup() {
+        context = ResumeFixtures.context(
+                Map.of("jwt.secret", SECRET, "jwt.expiration", 3_600_000, "jwt.verified-cache-size", 10_000L),
+                JwtUtils.class);
+        jwtUtils = context.getBean(JwtUtils.class);
+
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "bench-user", "bench@example.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String fullParse() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+}
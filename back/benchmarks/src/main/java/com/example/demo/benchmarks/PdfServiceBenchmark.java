@@ -0,0 +1,70 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.service.PdfRenderCache;
+import com.example.demo.service.PdfService;
+import com.example.demo.service.PdfTemplateRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full PDF rendering per template and resume size, plus the render-cache hit path for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfServiceBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    private ResumeFixtures.Size size;
+
+    @Param({"classic", "modern", "minimalist", "professional", "creative"})
+    private String template;
+
+    private ResumeDto resume;
+    private AnnotationConfigApplicationContext uncached;
+    private AnnotationConfigApplicationContext cached;
+
+    @Setup
+    public void setup() throws Exception {
+        resume = ResumeFixtures.resumeDto(size, template);
+
+        // With no room for cache entries every call renders; the cached service is warmed with the resume
+        uncached = pdfContext(0);
+        cached = pdfContext(16 * 1024 * 1024);
+        cached.getBean(PdfService.class).generateResumePdf(resume);
+    }
+
+    @TearDown
+    public void tearDown() {
+        uncached.close();
+        cached.close();
+    }
+
+    /**
+     * The full render, written to a discarding stream the way a download writes to the socket
+     */
+    @Benchmark
+    public void render() throws Exception {
+        uncached.getBean(PdfService.class).generateResumePdf(resume, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public byte[] cacheHit() throws Exception {
+        return cached.getBean(PdfService.class).generateResumePdf(resume);
+    }
+
+    private static AnnotationConfigApplicationContext pdfContext(int maxCachedPdfBytes) {
+        return ResumeFixtures.context(
+                Map.of("pdf.cache.max-entries", 16, "pdf.cache.max-bytes", 64L * 1024 * 1024,
+                        "pdf.cache.max-entry-bytes", maxCachedPdfBytes),
+                PdfService.class, PdfRenderCache.class, PdfTemplateRegistry.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.dto.DtoConverter;
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.model.Education;
+import com.example.demo.model.Experience;
+import com.example.demo.model.Resume;
+import com.example.demo.model.Skill;
+import com.example.demo.model.User;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Synthetic resumes for the benchmarks. Every child gets a distinct id so the entity sets keep all of them.
+ */
+public final class ResumeFixtures {
+
+    public enum Size {
+        SMALL(1, 1, 3, 1),
+        MEDIUM(3, 5, 15, 3),
+        HUGE(20, 40, 150, 12);
+
+        final int educations;
+        final int experiences;
+        final int skills;
+        final int paragraphs;
+
+        Size(int educations, int experiences, int skills, int paragraphs) {
+            this.educations = educations;
+            this.experiences = experiences;
+            this.skills = skills;
+            this.paragraphs = paragraphs;
+        }
+    }
+
+    private static final String PARAGRAPH = "Led a cross-functional team delivering customer facing features, "
+            + "improved build times, mentored junior engineers and owned the on-call rotation for the billing "
+            + "platform while keeping the error budget intact. ";
+
+    private static final String PERSONAL_INFO = "{\"firstName\":\"Jane\",\"lastName\":\"Doe\","
+            + "\"email\":\"jane.doe@example.com\",\"phone\":\"+1 555 0100\",\"address\":\"1 Main Street, Springfield\"}";
+
+    private ResumeFixtures() {
+    }
+
+    public static Resume resume(Size size, String templateName) {
+        User user = new User("bench-user", "bench@example.com", "password");
+        user.setId(1L);
+
+        Resume resume = new Resume("Senior Software Engineer", user, PERSONAL_INFO, PARAGRAPH.repeat(size.paragraphs),
+                LocalDateTime.of(2025, 1, 1, 12, 0), true, templateName, "AbCdEf12");
+        resume.setId(42L);
+
+        long childId = 1;
+        for (int i = 0; i < size.educations; i++) {
+            Education education = new Education(resume, "University " + i, "BSc", "Computer Science",
+                    "2010-09", "2014-06", PARAGRAPH.repeat(Math.max(1, size.paragraphs / 3)));
+            education.setId(childId++);
+            resume.getEducations().add(education);
+        }
+        for (int i = 0; i < size.experiences; i++) {
+            Experience experience = new Experience(resume, "Company " + i, "Engineer " + i, "2015-01",
+                    i == 0 ? null : "2019-12", i == 0, PARAGRAPH.repeat(size.paragraphs), "Remote");
+            experience.setId(childId++);
+            resume.getExperiences().add(experience);
+        }
+        for (int i = 0; i < size.skills; i++) {
+            Skill skill = new Skill(resume, "Skill " + i, i % 3 == 0 ? "Expert" : "Intermediate");
+            skill.setId(childId++);
+            resume.getSkills().add(skill);
+        }
+        return resume;
+    }
+
+    public static ResumeDto resumeDto(Size size, String templateName) {
+        return new DtoConverter().convertToDto(resume(size, templateName));
+    }
+
+    /**
+     * Starts a bare Spring context holding just the given components, wired and initialized the way the
+     * application does it, so a renamed field or missing dependency fails the setup instead of being skipped
+     */
+    public static AnnotationConfigApplicationContext context(Map<String, Object> properties, Class<?>... components) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        context.register(components);
+        context.refresh();
+        return context;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.service.PublicUrlGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PublicUrlGenerator.nextUrl against an in-memory H2 sequence: mostly the keyed permutation and base62
+ * formatting, plus one sequence query per block of reserved numbers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UniqueUrlBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private PublicUrlGenerator publicUrlGenerator;
+
+    @Setup
+    public void setup() {
+        context = ResumeFixtures.context(Map.of("resume.public-url.key", "benchmark-public-url-key"),
+                InMemoryDatabase.class, PublicUrlGenerator.class);
+        publicUrlGenerator = context.getBean(PublicUrlGenerator.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String nextUrl() {
+        return publicUrlGenerator.nextUrl();
+    }
+
+    @Configuration
+    static class InMemoryDatabase {
+        @Bean
+        JdbcTemplate jdbcTemplate() {
+            // One reused connection, as a pool would hand out, so the numbers do not include connecting
+            return new JdbcTemplate(new SingleConnectionDataSource("jdbc:h2:mem:benchmarks", true));
+        }
+    }
+}
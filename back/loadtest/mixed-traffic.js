@@ -0,0 +1,70 @@
+// Mixed JSON/PDF load test for comparing the default platform-thread mode with the virtual-thread profile.
+//
+// Start the backend once per mode against the same database, with identical logging:
+//   java -jar target/demo-0.0.1-SNAPSHOT-exec.jar --logging.level.root=INFO --spring.jpa.show-sql=false
+//   java -jar target/demo-0.0.1-SNAPSHOT-exec.jar --logging.level.root=INFO --spring.jpa.show-sql=false \
+//        --spring.profiles.active=virtual
+// then run:
+//   k6 run -e BASE_URL=http://localhost:8080 -e USERNAME=... -e PASSWORD=... loadtest/mixed-traffic.js
+//
+// The user needs at least one resume. Compare p95/p99 of the json and pdf groups, the 429 rate
+// (render queue full) and throughput between the two runs; run on Java 21+ for the virtual profile.
+import http from 'k6/http';
+import { check, group } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const PDF_SHARE = Number(__ENV.PDF_SHARE || 0.2);
+
+export const options = {
+    scenarios: {
+        mixed: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 50 },
+                { duration: '2m', target: 400 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        'http_req_duration{kind:json}': ['p(95)<500'],
+        'http_req_failed{kind:json}': ['rate<0.01'],
+    },
+};
+
+export function setup() {
+    const login = http.post(`${BASE_URL}/api/auth/signin`,
+        JSON.stringify({ username: __ENV.USERNAME, password: __ENV.PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(login, { 'logged in': (r) => r.status === 200 });
+    const { token, id } = login.json();
+    const headers = { Authorization: `Bearer ${token}` };
+
+    const resumes = http.get(`${BASE_URL}/api/resumes/user/${id}`, { headers }).json();
+    const list = Array.isArray(resumes) ? resumes : resumes.content;
+    if (!list || list.length === 0) {
+        throw new Error('the load-test user has no resumes');
+    }
+    return { headers, userId: id, resumeIds: list.map((r) => r.id) };
+}
+
+export default function (data) {
+    const params = { headers: data.headers };
+    const resumeId = data.resumeIds[Math.floor(Math.random() * data.resumeIds.length)];
+
+    if (Math.random() < PDF_SHARE) {
+        group('pdf', () => {
+            const res = http.get(`${BASE_URL}/api/resumes/${resumeId}/pdf`,
+                Object.assign({ tags: { kind: 'pdf' } }, params));
+            check(res, { 'pdf rendered or shed': (r) => r.status === 200 || r.status === 429 });
+        });
+    } else {
+        group('json', () => {
+            const res = Math.random() < 0.5
+                ? http.get(`${BASE_URL}/api/resumes/${resumeId}`, Object.assign({ tags: { kind: 'json' } }, params))
+                : http.get(`${BASE_URL}/api/public/resumes?page=0&size=20`, { tags: { kind: 'json' } });
+            check(res, { 'json ok': (r) => r.status === 200 });
+        });
+    }
+}
@@ -1,11 +1,18 @@
 package com.example.demo.config;
 
+import com.example.demo.model.PersonalInfo;
 import com.example.demo.model.Role;
 import com.example.demo.repository.RoleRepository;
+import com.example.demo.service.ResumeSearchIndex;
+import com.example.demo.service.SkillFacetService;
+import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,11 +25,131 @@ public class DatabaseInitializer implements CommandLineRunner {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ResumeSearchIndex resumeSearchIndex;
+
+    @Autowired
+    private SkillFacetService skillFacetService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static final int PERSONAL_INFO_BATCH_SIZE = 500;
+
+    private static final String[][] CHILD_SEQUENCES = {
+            {"education_seq", "education"}, {"experience_seq", "experience"}, {"skills_seq", "skills"}};
+
+    // Every step runs in its own transaction: on PostgreSQL a failed statement aborts the transaction it is in,
+    // so with one shared transaction a single failing step would make all later steps fail as well
     @Override
-    @Transactional
     public void run(String... args) throws Exception {
    
-        cleanupAndInitRoles();
+        inTransaction("initializing roles", this::cleanupAndInitRoles);
+        inTransaction("backfilling resume versions", this::backfillResumeVersions);
+        for (String[] sequence : CHILD_SEQUENCES) {
+            inTransaction("aligning sequence " + sequence[0], () -> alignChildSequence(sequence[0], sequence[1]));
+        }
+        inTransaction("initializing the resume search index", this::initSearchIndex);
+        inTransaction("initializing skill facets", this::initSkillFacets);
+        try {
+            // Commits batch by batch
+            migratePersonalInfo();
+        } catch (Exception e) {
+            logger.error("Error migrating personal info", e);
+        }
+    }
+
+    private void inTransaction(String step, Runnable action) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+        } catch (Exception e) {
+            logger.error("Error {}", step, e);
+        }
+    }
+
+    // personal_info used to hold the client's JSON; parse it into the typed columns and keep only free text there.
+    // Rows go in id order, one transaction per batch, and a row is only rewritten when reading it back yields
+    // the same JSON, so nothing the client sent can be lost.
+    private void migratePersonalInfo() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long afterId = 0;
+        int migrated = 0;
+        int skipped = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query("SELECT id, personal_info FROM resumes " +
+                            "WHERE personal_info LIKE '{%' AND id > ? ORDER BY id LIMIT " + PERSONAL_INFO_BATCH_SIZE,
+                    (rs, rowNum) -> new Object[]{rs.getLong("id"), rs.getString("personal_info")}, afterId);
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+
+            List<Object[]> updates = new ArrayList<>();
+            for (Object[] row : rows) {
+                String original = (String) row[1];
+                PersonalInfo info = PersonalInfo.parse(original);
+                if (!info.isStructured()) {
+                    continue;
+                }
+                if (!new JSONObject(original).similar(new JSONObject(info.toText()))) {
+                    logger.warn("Personal info of resume ID: {} does not survive the typed columns, leaving it as is", row[0]);
+                    skipped++;
+                    continue;
+                }
+                updates.add(new Object[]{info.getFirstName(), info.getLastName(), info.getJobTitle(),
+                        info.getEmail(), info.getPhone(), info.getAddress(), info.getWebsite(),
+                        info.getLinkedin(), info.getPhoto(), info.getExtra(), row[0], original});
+            }
+            if (!updates.isEmpty()) {
+                transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                        "UPDATE resumes SET personal_first_name = ?, personal_last_name = ?, " +
+                        "personal_job_title = ?, personal_email = ?, personal_phone = ?, personal_address = ?, " +
+                        "personal_website = ?, personal_linkedin = ?, personal_photo = ?, personal_extra = ?, " +
+                        "personal_info = NULL WHERE id = ? AND personal_info = ?", updates));
+                migrated += updates.size();
+            }
+        }
+        if (migrated > 0 || skipped > 0) {
+            logger.info("Moved personal info of {} existing resumes into typed columns, left {} unchanged", migrated, skipped);
+        }
+    }
+
+    // Skills saved before normalization existed get their derived columns, then the facet table is counted once
+    private void initSkillFacets() {
+        int updated = jdbcTemplate.update("UPDATE skills SET " +
+                "normalized_name = lower(regexp_replace(trim(name), '\\s+', ' ', 'g')), " +
+                "proficiency_rank = CASE upper(trim(proficiency_level)) WHEN 'BEGINNER' THEN 1 " +
+                "WHEN 'INTERMEDIATE' THEN 2 WHEN 'ADVANCED' THEN 3 WHEN 'EXPERT' THEN 4 ELSE 0 END " +
+                "WHERE normalized_name IS NULL");
+        if (updated > 0) {
+            logger.info("Normalized {} existing skills", updated);
+        }
+        if (skillFacetService.isEmpty()) {
+            skillFacetService.rebuild();
+        }
+    }
+
+    private void initSearchIndex() {
+        resumeSearchIndex.ensureSchema();
+        resumeSearchIndex.indexMissing();
+    }
+
+    // Child tables used to be filled by identity columns. Move each pooled sequence past the highest existing id
+    // so the first block Hibernate allocates (next value - 49 .. next value) cannot collide with old rows.
+    private void alignChildSequence(String sequence, String table) {
+        jdbcTemplate.queryForList("SELECT setval('" + sequence + "', m) FROM (SELECT MAX(id) AS m FROM "
+                + table + ") t WHERE m IS NOT NULL AND m >= (SELECT last_value FROM " + sequence + ")");
+    }
+
+    // Rows created before the optimistic-lock column existed have no version; Hibernate needs one to update them
+    private void backfillResumeVersions() {
+        int updated = jdbcTemplate.update("UPDATE resumes SET version = 0 WHERE version IS NULL");
+        if (updated > 0) {
+            logger.info("Initialized version of {} existing resumes", updated);
+        }
     }
 
     private void cleanupAndInitRoles() {
@@ -0,0 +1,87 @@
+package com.example.demo.controller;
+
+import com.example.demo.security.jwt.JwtUtils;
+import com.example.demo.security.services.UserPrincipalCache;
+import com.example.demo.service.PdfRenderCache;
+import com.example.demo.service.PdfRenderQueue;
+import com.example.demo.service.PublicResumeCache;
+import com.example.demo.service.ResumePayloadCache;
+import com.example.demo.service.ResumeHtmlRenderer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@CrossOrigin(origins = "http://localhost:3000", maxAge = 3600, allowCredentials = "true")
+@RestController
+@RequestMapping("/api/admin/caches")
+@PreAuthorize("hasAuthority('ROLE_ADMIN')")
+public class CacheStatsController {
+
+    @Autowired
+    private PdfRenderCache pdfRenderCache;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private PdfRenderQueue pdfRenderQueue;
+
+    @Autowired
+    private ResumeHtmlRenderer resumeHtmlRenderer;
+
+    @Autowired
+    private PublicResumeCache publicResumeCache;
+
+    @Autowired
+    private ResumePayloadCache resumePayloadCache;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("pdfRender", pdfRenderCache.stats());
+        response.put("jwtVerified", jwtUtils.verifiedTokenStats());
+        response.put("principals", principalCache.stats());
+        response.put("pdfRenderQueue", pdfRenderQueue.stats());
+        response.put("publicHtml", resumeHtmlRenderer.stats());
+        response.put("publicResumes", publicResumeCache.stats());
+        response.put("resumePayloads", resumePayloadCache.stats());
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/pdf-render")
+    public ResponseEntity<Void> clearPdfRenderCache() {
+        pdfRenderCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/public-html")
+    public ResponseEntity<Void> clearPublicHtmlCache() {
+        resumeHtmlRenderer.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/public-resumes")
+    public ResponseEntity<Void> clearPublicResumeCache() {
+        publicResumeCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/resume-payloads")
+    public ResponseEntity<Void> clearResumePayloadCache() {
+        resumePayloadCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/principals")
+    public ResponseEntity<Void> clearPrincipalCache() {
+        principalCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
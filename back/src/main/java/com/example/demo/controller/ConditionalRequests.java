@@ -0,0 +1,118 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ResumeStamp;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * ETag / Last-Modified handling shared by the resume JSON, PDF and HTML endpoints
+ */
+final class ConditionalRequests {
+
+    static final String JSON = "json";
+    static final String PDF = "pdf";
+    static final String HTML = "html";
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Evaluates If-None-Match, or If-Modified-Since when there is none, against the stamp. A client holding
+     * the gzip body revalidates with its validator, so either encoding's ETag is still current. Nothing is
+     * written to the response here: validators set before the body is chosen would not match the encoding
+     * actually sent. When true the handler returns {@link #notModified}, or {@link #notModifiedVarying} for
+     * representations that are also sent gzip-encoded.
+     */
+    static boolean isNotModified(WebRequest request, ResumeStamp stamp, String representation) {
+        String etag = stamp.etag(representation);
+        if (etag == null) {
+            return false;
+        }
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return matchingEtag(ifNoneMatch, etag) != null;
+        }
+        String ifModifiedSinceHeader = request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifModifiedSinceHeader == null) {
+            return false;
+        }
+        HttpHeaders conditions = new HttpHeaders();
+        conditions.set(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSinceHeader);
+        long ifModifiedSince = conditions.getIfModifiedSince();
+        // Last-Modified only carries seconds; an unparsable date is -1 and never matches
+        return ifModifiedSince >= 0 && stamp.getLastModifiedMillis() / 1000 * 1000 <= ifModifiedSince;
+    }
+
+    /**
+     * 304 carrying the validators of the copy the client revalidated
+     */
+    static <T> ResponseEntity<T> notModified(WebRequest request, ResumeStamp stamp, String representation) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .headers(notModifiedValidators(request, stamp, representation))
+                .build();
+    }
+
+    /**
+     * 304 for representations that are also sent gzip-encoded; carries the same Vary as the 200
+     */
+    static <T> ResponseEntity<T> notModifiedVarying(WebRequest request, ResumeStamp stamp, String representation) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .headers(notModifiedValidators(request, stamp, representation))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    /**
+     * Validator of the gzip-encoded body. A strong ETag promises identical bytes, so the two encodings of a
+     * representation cannot share one: caches and range requests would mix them up.
+     */
+    static String gzipEtag(String etag) {
+        return etag.endsWith("\"") ? etag.substring(0, etag.length() - 1) + "-gz\"" : etag + "-gz";
+    }
+
+    private static HttpHeaders notModifiedValidators(WebRequest request, ResumeStamp stamp, String representation) {
+        HttpHeaders headers = new HttpHeaders();
+        String etag = stamp.etag(representation);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        String matched = ifNoneMatch != null ? matchingEtag(ifNoneMatch, etag) : null;
+        headers.setETag(matched != null && !matched.equals("*") ? matched : etag);
+        headers.setLastModified(stamp.getLastModifiedMillis());
+        return headers;
+    }
+
+    /**
+     * The current ETag, in whichever encoding If-None-Match lists it, or null when it lists neither.
+     * If-None-Match uses the weak comparison, so W/ prefixes are ignored.
+     */
+    private static String matchingEtag(String ifNoneMatch, String etag) {
+        String gzipEtag = gzipEtag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                return tag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Validators plus a Cache-Control that lets browsers and shared caches keep the body but revalidate it
+     */
+    static HttpHeaders validators(ResumeStamp stamp, String representation, boolean shared) {
+        HttpHeaders headers = new HttpHeaders();
+        String etag = stamp.etag(representation);
+        if (etag != null) {
+            headers.setETag(etag);
+            headers.setLastModified(stamp.getLastModifiedMillis());
+        }
+        CacheControl cacheControl = CacheControl.noCache();
+        headers.setCacheControl(shared ? cacheControl.cachePublic() : cacheControl.cachePrivate());
+        return headers;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ResumePayload;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Writes pre-serialized bodies, choosing the stored gzip copy when the client accepts it. The gzip body gets
+ * its own ETag, see {@link ConditionalRequests#gzipEtag}. Responses carrying Content-Encoding are left alone
+ * by server.compression, so nothing is compressed twice.
+ */
+final class PayloadResponses {
+
+    private PayloadResponses() {
+    }
+
+    static ResponseEntity<byte[]> ok(ResumePayload payload, HttpHeaders headers, WebRequest request) {
+        return ok(payload.getJson(), payload.getGzip(), MediaType.APPLICATION_JSON, headers, request);
+    }
+
+    /**
+     * The identity body, or the gzip one when it exists and the client accepts gzip
+     */
+    static ResponseEntity<byte[]> ok(byte[] body, byte[] gzip, MediaType contentType, HttpHeaders headers,
+                                     WebRequest request) {
+        headers.setContentType(contentType);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            if (headers.getETag() != null) {
+                headers.setETag(ConditionalRequests.gzipEtag(headers.getETag()));
+            }
+            return new ResponseEntity<>(gzip, headers, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * True when Accept-Encoding lists gzip (or *) without q=0
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().replace(" ", "");
+                if (parameter.matches("[qQ]=0(\\.0{0,3})?")) {
+                    refused = true;
+                }
+            }
+            return !refused;
+        }
+        return false;
+    }
+}
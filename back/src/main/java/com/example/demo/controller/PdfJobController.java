@@ -0,0 +1,117 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.MessageResponse;
+import com.example.demo.dto.PdfJobResponse;
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.security.services.UserDetailsImpl;
+import com.example.demo.service.PdfRenderJob;
+import com.example.demo.service.PdfRenderQueue;
+import com.example.demo.service.ResumeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Asynchronous PDF rendering: submit a job, poll its status, then download the result.
+ */
+@CrossOrigin(origins = "http://localhost:3000", maxAge = 3600, allowCredentials = "true")
+@RestController
+@RequestMapping("/api/resumes/{id}/pdf/jobs")
+@PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
+public class PdfJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfJobController.class);
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    private PdfRenderQueue pdfRenderQueue;
+
+    @PostMapping
+    public ResponseEntity<?> submitJob(@PathVariable Long id) {
+        try {
+            Optional<ResumeDto> resumeOpt = resumeService.getResumeById(id);
+            if (!resumeOpt.isPresent()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+
+            ResumeDto resume = resumeOpt.get();
+            if (!canAccess(resume.getUserId())) {
+                logger.warn("User {} attempted to render PDF for resume ID: {} belonging to user ID: {}",
+                        currentUserId(), id, resume.getUserId());
+                return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            }
+
+            PdfRenderJob job = pdfRenderQueue.submit(resume, currentUserId());
+            URI location = URI.create("/api/resumes/" + id + "/pdf/jobs/" + job.getId());
+            return ResponseEntity.accepted().location(location).body(new PdfJobResponse(job));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(pdfRenderQueue.getRetryAfterSeconds()))
+                    .body(new MessageResponse("Error: PDF render queue is full, try again later"));
+        } catch (Exception e) {
+            logger.error("Error submitting PDF job for resume ID: " + id, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable Long id, @PathVariable String jobId) {
+        Optional<PdfRenderJob> job = findAccessibleJob(id, jobId);
+        if (!job.isPresent()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(new PdfJobResponse(job.get()));
+    }
+
+    @GetMapping("/{jobId}/result")
+    public ResponseEntity<?> getJobResult(@PathVariable Long id, @PathVariable String jobId) {
+        Optional<PdfRenderJob> jobOpt = findAccessibleJob(id, jobId);
+        if (!jobOpt.isPresent()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        PdfRenderJob job = jobOpt.get();
+        if (job.getStatus() != PdfRenderJob.Status.DONE) {
+            return new ResponseEntity<>(new PdfJobResponse(job), HttpStatus.CONFLICT);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("filename", job.getResume().getTitle() + ".pdf");
+        headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
+        return new ResponseEntity<>(job.getResult(), headers, HttpStatus.OK);
+    }
+
+    // Jobs of other users are reported as missing rather than forbidden so job ids cannot be probed
+    private Optional<PdfRenderJob> findAccessibleJob(Long resumeId, String jobId) {
+        return pdfRenderQueue.getJob(jobId)
+                .filter(job -> resumeId.equals(job.getResumeId()))
+                .filter(job -> canAccess(job.getOwnerId()) || canAccess(job.getResume().getUserId()));
+    }
+
+    private boolean canAccess(Long ownerId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().contains("ADMIN"));
+        return isAdmin || currentUserId().equals(ownerId);
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return ((UserDetailsImpl) authentication.getPrincipal()).getId();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.service.PdfRenderQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Synchronous PDF downloads answered from the render pool. The response is committed only once the render
+ * has produced its first bytes, so a full queue, a timeout or a failure up to then still get a proper status;
+ * after that the PDF streams to the client and a failure aborts the download.
+ */
+final class PdfResponses {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfResponses.class);
+
+    private PdfResponses() {
+    }
+
+    static CompletableFuture<ResponseEntity<StreamingResponseBody>> render(PdfRenderQueue queue, ResumeDto resume,
+                                                                            HttpHeaders headers) {
+        if (queue.isSaturated()) {
+            return CompletableFuture.completedFuture(retryLater(queue, HttpStatus.TOO_MANY_REQUESTS));
+        }
+        return queue.render(resume).handle((pdf, error) -> {
+            if (error == null) {
+                return new ResponseEntity<StreamingResponseBody>(pdf::writeTo, headers, HttpStatus.OK);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (cause instanceof RejectedExecutionException) {
+                return retryLater(queue, HttpStatus.TOO_MANY_REQUESTS);
+            }
+            if (cause instanceof TimeoutException) {
+                logger.warn("PDF render timed out for resume ID: {}", resume.getId());
+                return retryLater(queue, HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            logger.error("Error generating PDF for resume ID: " + resume.getId(), cause);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        });
+    }
+
+    static CompletableFuture<ResponseEntity<StreamingResponseBody>> of(ResponseEntity<StreamingResponseBody> response) {
+        return CompletableFuture.completedFuture(response);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> retryLater(PdfRenderQueue queue, HttpStatus status) {
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(queue.getRetryAfterSeconds()))
+                .build();
+    }
+}
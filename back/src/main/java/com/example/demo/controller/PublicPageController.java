@@ -0,0 +1,75 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ResumeStamp;
+import com.example.demo.service.ResumeHtmlRenderer;
+import com.example.demo.service.ResumeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-rendered public resume pages for anonymous visitors and crawlers,
+ * answered from the rendered-page cache without the React app or an API call
+ */
+@RestController
+public class PublicPageController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicPageController.class);
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    private ResumeHtmlRenderer resumeHtmlRenderer;
+
+    @Value("${html.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    @Value("${html.stale-while-revalidate-seconds:300}")
+    private long staleWhileRevalidateSeconds;
+
+    @GetMapping(value = "/r/{url}", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<byte[]> getPublicResumePage(@PathVariable String url, WebRequest webRequest) {
+        try {
+            Optional<ResumeStamp> stamp = resumeService.getPublicResumeStamp(url);
+            if (!stamp.isPresent()) {
+                logger.debug("Public resume page not found with URL: {}", url);
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            if (ConditionalRequests.isNotModified(webRequest, stamp.get(), ConditionalRequests.HTML)) {
+                return ConditionalRequests.notModifiedVarying(webRequest, stamp.get(), ConditionalRequests.HTML);
+            }
+
+            ResumeHtmlRenderer.Page page = resumeHtmlRenderer.render(stamp.get().getId(), stamp.get().getVersion(),
+                    () -> resumeService.getPublicResumeByUrl(url).orElse(null));
+            if (page == null) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+
+            // Shared caches may serve the page for a short while and revalidate it with the ETag afterwards
+            HttpHeaders headers = ConditionalRequests.validators(stamp.get(), ConditionalRequests.HTML, true);
+            headers.setCacheControl(CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS)
+                    .cachePublic()
+                    .staleWhileRevalidate(staleWhileRevalidateSeconds, TimeUnit.SECONDS));
+            return PayloadResponses.ok(page.getHtml(), page.getGzip(),
+                    new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8), headers, webRequest);
+        } catch (Exception e) {
+            logger.error("Error rendering public resume page for URL: " + url, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
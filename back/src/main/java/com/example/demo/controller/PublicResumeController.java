@@ -1,7 +1,14 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.MessageResponse;
+import com.example.demo.dto.PageResponse;
 import com.example.demo.dto.ResumeDto;
-import com.example.demo.service.PdfService;
+import com.example.demo.dto.ResumePayload;
+import com.example.demo.dto.ResumeStamp;
+import com.example.demo.dto.ResumeSummary;
+import com.example.demo.service.PdfRenderQueue;
+import com.example.demo.service.PublicResumeCache;
+import com.example.demo.service.ResumePayloadCache;
 import com.example.demo.service.ResumeService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,9 +18,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @CrossOrigin(origins = "http://localhost:3000", maxAge = 3600, allowCredentials = "true")
 @RestController
@@ -26,56 +36,155 @@ public class PublicResumeController {
     private ResumeService resumeService;
     
     @Autowired
-    private PdfService pdfService;
+    private PdfRenderQueue pdfRenderQueue;
+
+    @Autowired
+    private PublicResumeCache publicResumeCache;
+
+    @Autowired
+    private ResumePayloadCache resumePayloadCache;
 
     @GetMapping
-    public ResponseEntity<List<ResumeDto>> getAllPublicResumes() {
+    public ResponseEntity<?> getAllPublicResumes(@RequestParam(required = false) Integer page,
+                                                 @RequestParam(required = false) Integer size,
+                                                 @RequestParam(required = false) String sort,
+                                                 @RequestParam(required = false) String after,
+                                                 @RequestParam(required = false) String view) {
         logger.info("Getting all public resumes");
         try {
-            List<ResumeDto> resumes = resumeService.getAllPublicResumes();
+            if (isSummaryView(view)) {
+                if (after != null) {
+                    throw new IllegalArgumentException("after is not supported with view=summary");
+                }
+                PageResponse<ResumeSummary> summaries = resumeService.listResumeSummaries(true, page, size, sort);
+                return new ResponseEntity<>(page == null && size == null ? summaries.getContent() : summaries,
+                        HttpStatus.OK);
+            }
+            if (page == null && size == null && sort == null && after == null) {
+                List<ResumeDto> resumes = resumeService.getAllPublicResumes();
+                return new ResponseEntity<>(resumes, HttpStatus.OK);
+            }
+            PageResponse<ResumeDto> resumes = resumeService.listResumes(true, page, size, sort, after);
             return new ResponseEntity<>(resumes, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Invalid listing parameters: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
         } catch (Exception e) {
             logger.error("Error getting public resumes: {}", e.getMessage(), e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
     
+    @GetMapping("/search")
+    public ResponseEntity<?> searchPublicResumes(@RequestParam(required = false) String q,
+                                                 @RequestParam(required = false) Integer page,
+                                                 @RequestParam(required = false) Integer size) {
+        logger.debug("Searching public resumes for: {}", q);
+        try {
+            PageResponse<ResumeSummary> results = resumeService.searchPublicResumes(q, page, size);
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Invalid search parameters: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error searching public resumes: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    @GetMapping("/by-skills")
+    public ResponseEntity<?> getPublicResumesBySkills(@RequestParam(name = "skill", required = false) List<String> skills,
+                                                      @RequestParam(required = false) String minProficiency,
+                                                      @RequestParam(required = false) Integer page,
+                                                      @RequestParam(required = false) Integer size) {
+        logger.debug("Getting public resumes with skills: {}", skills);
+        try {
+            PageResponse<ResumeSummary> results = resumeService.findPublicResumesBySkills(skills, minProficiency, page, size);
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Invalid skill query: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error getting public resumes by skills: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
     @GetMapping("/{url}")
-    public ResponseEntity<ResumeDto> getPublicResumeByUrl(@PathVariable String url) {
+    public ResponseEntity<byte[]> getPublicResumeByUrl(@PathVariable String url, WebRequest webRequest) {
         logger.info("Getting public resume with URL: {}", url);
         try {
-            Optional<ResumeDto> resume = resumeService.getPublicResumeByUrl(url);
-            if (resume.isPresent()) {
-                return new ResponseEntity<>(resume.get(), HttpStatus.OK);
-            } else {
+            // A revalidation of an uncached resume still only needs the stamp, not the whole resume
+            boolean revalidated = false;
+            if (!publicResumeCache.isCached(url) && isConditional(webRequest)) {
+                Optional<ResumeStamp> stamp = resumeService.getPublicResumeStamp(url);
+                if (!stamp.isPresent()) {
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }
+                if (ConditionalRequests.isNotModified(webRequest, stamp.get(), ConditionalRequests.JSON)) {
+                    return ConditionalRequests.notModifiedVarying(webRequest, stamp.get(), ConditionalRequests.JSON);
+                }
+                revalidated = true;
+            }
+
+            Optional<ResumePayload> payload = publicResumeCache.get(url,
+                    key -> resumeService.getPublicResumeByUrl(key).map(resumePayloadCache::serialize));
+            if (!payload.isPresent()) {
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
+            if (!revalidated && ConditionalRequests.isNotModified(webRequest, payload.get(), ConditionalRequests.JSON)) {
+                return ConditionalRequests.notModifiedVarying(webRequest, payload.get(), ConditionalRequests.JSON);
+            }
+            return PayloadResponses.ok(payload.get(),
+                    ConditionalRequests.validators(payload.get(), ConditionalRequests.JSON, true), webRequest);
         } catch (Exception e) {
             logger.error("Error getting public resume: {}", e.getMessage(), e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
     
     @GetMapping("/{url}/pdf")
-    public ResponseEntity<byte[]> getPublicResumePdf(@PathVariable String url) {
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getPublicResumePdf(@PathVariable String url, WebRequest webRequest) {
         try {
+            Optional<ResumeStamp> stamp = resumeService.getPublicResumeStamp(url);
+            if (!stamp.isPresent()) {
+                logger.debug("Public resume not found with URL: {}", url);
+                return PdfResponses.of(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+            }
+            if (ConditionalRequests.isNotModified(webRequest, stamp.get(), ConditionalRequests.PDF)) {
+                return PdfResponses.of(ConditionalRequests.notModified(webRequest, stamp.get(), ConditionalRequests.PDF));
+            }
+
             Optional<ResumeDto> resumeOpt = resumeService.getPublicResumeByUrl(url);
             if (!resumeOpt.isPresent()) {
                 logger.debug("Public resume not found with URL: {}", url);
-                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                return PdfResponses.of(new ResponseEntity<>(HttpStatus.NOT_FOUND));
             }
             
             ResumeDto resume = resumeOpt.get();
             
-            byte[] pdfBytes = pdfService.generateResumePdf(resume);
-            HttpHeaders headers = new HttpHeaders();
+            HttpHeaders headers = ConditionalRequests.validators(stamp.get(), ConditionalRequests.PDF, true);
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("filename", resume.getTitle() + ".pdf");
-            headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
-            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+            return PdfResponses.render(pdfRenderQueue, resume, headers);
         } catch (Exception e) {
             logger.error("Error generating PDF for public resume URL: " + url, e);
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+            return PdfResponses.of(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    private boolean isSummaryView(String view) {
+        if (view == null || "full".equals(view)) {
+            return false;
+        }
+        if ("summary".equals(view)) {
+            return true;
         }
+        throw new IllegalArgumentException("Unknown view: " + view + ", expected full or summary");
     }
 }
@@ -1,25 +1,40 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.MessageResponse;
+import com.example.demo.dto.PageResponse;
 import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.ResumeImportResult;
+import com.example.demo.dto.ResumePayload;
+import com.example.demo.dto.ResumeStamp;
+import com.example.demo.dto.ResumeSummary;
 import com.example.demo.security.services.UserDetailsImpl;
-import com.example.demo.service.PdfService;
+import com.example.demo.service.PdfRenderQueue;
+import com.example.demo.service.ResumeExportService;
+import com.example.demo.service.ResumeImportService;
+import com.example.demo.service.ResumePayloadCache;
 import com.example.demo.service.ResumeService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
     
 
@@ -34,15 +49,48 @@ public class ResumeController {
     private ResumeService resumeService;
     
     @Autowired
-    private PdfService pdfService;    @GetMapping
+    private PdfRenderQueue pdfRenderQueue;
+
+    @Autowired
+    private ResumeExportService resumeExportService;
+
+    @Autowired
+    private ResumeImportService resumeImportService;
+
+    @Autowired
+    private ResumePayloadCache resumePayloadCache;
+
+    @GetMapping
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<List<ResumeDto>> getAllResumes() {
-        List<ResumeDto> resumes = resumeService.getAllResumes();
-        return new ResponseEntity<>(resumes, HttpStatus.OK);
+    public ResponseEntity<?> getAllResumes(@RequestParam(required = false) Integer page,
+                                           @RequestParam(required = false) Integer size,
+                                           @RequestParam(required = false) String sort,
+                                           @RequestParam(required = false) String after,
+                                           @RequestParam(required = false) String view) {
+        try {
+            if (isSummaryView(view)) {
+                if (after != null) {
+                    throw new IllegalArgumentException("after is not supported with view=summary");
+                }
+                PageResponse<ResumeSummary> summaries = resumeService.listResumeSummaries(false, page, size, sort);
+                return new ResponseEntity<>(page == null && size == null ? summaries.getContent() : summaries,
+                        HttpStatus.OK);
+            }
+            if (page == null && size == null && sort == null && after == null) {
+                List<ResumeDto> resumes = resumeService.getAllResumes();
+                return new ResponseEntity<>(resumes, HttpStatus.OK);
+            }
+            PageResponse<ResumeDto> resumes = resumeService.listResumes(false, page, size, sort, after);
+            return new ResponseEntity<>(resumes, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Invalid listing parameters: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
     }
       @GetMapping("/user/{userId}")
     @PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<List<ResumeDto>> getResumesByUserId(@PathVariable Long userId) {
+    public ResponseEntity<?> getResumesByUserId(@PathVariable Long userId,
+                                                @RequestParam(required = false) String view) {
         logger.info("Getting resumes for user ID: {}", userId);
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -65,6 +113,11 @@ public class ResumeController {
             logger.info("Authenticated user ID: {}", authenticatedUserId);
             
             if (isAdmin || authenticatedUserId.equals(userId)) {
+                if (isSummaryView(view)) {
+                    List<ResumeSummary> summaries = resumeService.getResumeSummariesByUserId(userId);
+                    logger.info("Found {} resume summaries for user ID: {}", summaries.size(), userId);
+                    return new ResponseEntity<>(summaries, HttpStatus.OK);
+                }
                 List<ResumeDto> resumes = resumeService.getResumesByUserId(userId);
                 logger.info("Found {} resumes for user ID: {}", resumes.size(), userId);
                 return new ResponseEntity<>(resumes, HttpStatus.OK);
@@ -73,6 +126,9 @@ public class ResumeController {
                         username, authenticatedUserId, userId);
                 return new ResponseEntity<>(HttpStatus.FORBIDDEN);
             }
+        } catch (IllegalArgumentException e) {
+            logger.debug("Invalid listing parameters: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
         } catch (Exception e) {
             logger.error("Error getting resumes for user ID: " + userId, e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -80,7 +136,7 @@ public class ResumeController {
     }
       @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<ResumeDto> getResumeById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getResumeById(@PathVariable Long id, WebRequest webRequest) {
         logger.debug("Getting resume by ID: {}", id);
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -88,34 +144,48 @@ public class ResumeController {
                 logger.warn("No authenticated user found when accessing resume ID: {}", id);
                 return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
             }
-              String username = authentication.getName();
+            String username = authentication.getName();
             logger.debug("Authenticated user: {} is accessing resume ID: {}", username, id);
             
             boolean isAdmin = authentication.getAuthorities().stream()
                     .anyMatch(a -> a.getAuthority().contains("ADMIN"));
             
-            Optional<ResumeDto> resumeOpt = resumeService.getResumeById(id);
-            if (!resumeOpt.isPresent()) {
+            // Ownership and freshness are checked on the stamp, before any child collection is loaded
+            Optional<ResumeStamp> stampOpt = resumeService.getResumeStamp(id);
+            if (!stampOpt.isPresent()) {
                 logger.debug("Resume not found with ID: {}", id);
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
             
-            ResumeDto resume = resumeOpt.get();
+            ResumeStamp stamp = stampOpt.get();
             
             if (!isAdmin) {
                 Long authenticatedUserId = ((UserDetailsImpl) authentication.getPrincipal()).getId();
-                if (!authenticatedUserId.equals(resume.getUserId())) {
+                if (!authenticatedUserId.equals(stamp.getUserId())) {
                     logger.warn("User {} (ID: {}) attempted to access resume ID: {} belonging to user ID: {}", 
-                            username, authenticatedUserId, id, resume.getUserId());
+                            username, authenticatedUserId, id, stamp.getUserId());
                     return new ResponseEntity<>(HttpStatus.FORBIDDEN);
                 }
             } else {
                 logger.info("Admin user {} is accessing resume ID: {} belonging to user ID: {}", 
-                        username, id, resume.getUserId());
+                        username, id, stamp.getUserId());
+            }
+            
+            if (ConditionalRequests.isNotModified(webRequest, stamp, ConditionalRequests.JSON)) {
+                logger.debug("Resume ID: {} not modified", id);
+                return ConditionalRequests.notModifiedVarying(webRequest, stamp, ConditionalRequests.JSON);
+            }
+            
+            // An unchanged version is served from its serialized bytes without loading the resume again
+            Optional<ResumePayload> payload = resumePayloadCache.get(id, stamp.getVersion(),
+                    () -> resumeService.getResumeById(id));
+            if (!payload.isPresent()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
             
             logger.debug("Resume found with ID: {}", id);
-            return new ResponseEntity<>(resume, HttpStatus.OK);
+            return PayloadResponses.ok(payload.get(),
+                    ConditionalRequests.validators(payload.get(), ConditionalRequests.JSON, false), webRequest);
         } catch (Exception e) {
             logger.error("Error getting resume with ID: " + id, e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -192,6 +262,33 @@ public class ResumeController {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    /**
+     * Imports resumes from a JSON array or NDJSON body, read as a stream rather than bound as a whole.
+     * Non-admins always import into their own account; admins may set userId per record.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<?> importResumes(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            logger.warn("No authenticated user found when importing resumes");
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().contains("ADMIN"));
+        Long authenticatedUserId = ((UserDetailsImpl) authentication.getPrincipal()).getId();
+        logger.info("User '{}' is importing resumes", authentication.getName());
+        
+        try {
+            ResumeImportResult result = resumeImportService.importResumes(request.getInputStream(), authenticatedUserId, isAdmin);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error importing resumes", e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
       @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
     public ResponseEntity<ResumeDto> updateResume(@PathVariable Long id, @RequestBody ResumeDto resumeDto) {
@@ -236,6 +333,10 @@ public class ResumeController {
                         return new ResponseEntity<>(resume, HttpStatus.OK);
                     })
                     .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Answered with 409 by GlobalExceptionHandler
+            logger.info("Concurrent update rejected for resume ID: {}", id);
+            throw e;
         } catch (Exception e) {
             logger.error("Error updating resume with ID: " + id, e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -289,12 +390,12 @@ public class ResumeController {
     
     @GetMapping("/{id}/pdf")
     @PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<byte[]> getResumePdf(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getResumePdf(@PathVariable Long id, WebRequest webRequest) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             if (authentication == null || !authentication.isAuthenticated()) {
                 logger.warn("No authenticated user found when downloading PDF for resume ID: {}", id);
-                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+                return PdfResponses.of(new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
             }
             
             String username = authentication.getName();
@@ -302,35 +403,84 @@ public class ResumeController {
             boolean isAdmin = authentication.getAuthorities().stream()
                     .anyMatch(a -> a.getAuthority().contains("ADMIN"));
             
-            Optional<ResumeDto> resumeOpt = resumeService.getResumeById(id);
-            if (!resumeOpt.isPresent()) {
+            Optional<ResumeStamp> stampOpt = resumeService.getResumeStamp(id);
+            if (!stampOpt.isPresent()) {
                 logger.debug("Resume not found with ID: {}", id);
-                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                return PdfResponses.of(new ResponseEntity<>(HttpStatus.NOT_FOUND));
             }
             
-            ResumeDto resume = resumeOpt.get();
+            ResumeStamp stamp = stampOpt.get();
             
             if (!isAdmin) {
                 Long authenticatedUserId = ((UserDetailsImpl) authentication.getPrincipal()).getId();
-                if (!authenticatedUserId.equals(resume.getUserId())) {
+                if (!authenticatedUserId.equals(stamp.getUserId())) {
                     logger.warn("User {} (ID: {}) attempted to download PDF for resume ID: {} belonging to user ID: {}", 
-                            username, authenticatedUserId, id, resume.getUserId());
-                    return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+                            username, authenticatedUserId, id, stamp.getUserId());
+                    return PdfResponses.of(new ResponseEntity<>(HttpStatus.FORBIDDEN));
                 }
             } else {
                 logger.info("Admin user {} is downloading PDF for resume ID: {} belonging to user ID: {}", 
-                        username, id, resume.getUserId());
+                        username, id, stamp.getUserId());
             }
             
-            byte[] pdfBytes = pdfService.generateResumePdf(resume);
-            HttpHeaders headers = new HttpHeaders();
+            if (ConditionalRequests.isNotModified(webRequest, stamp, ConditionalRequests.PDF)) {
+                logger.debug("PDF for resume ID: {} not modified", id);
+                return PdfResponses.of(ConditionalRequests.notModified(webRequest, stamp, ConditionalRequests.PDF));
+            }
+            
+            Optional<ResumeDto> resumeOpt = resumeService.getResumeById(id);
+            if (!resumeOpt.isPresent()) {
+                return PdfResponses.of(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+            }
+            ResumeDto resume = resumeOpt.get();
+            
+            HttpHeaders headers = ConditionalRequests.validators(stamp, ConditionalRequests.PDF, false);
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("filename", resume.getTitle() + ".pdf");
-            headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
-            return new ResponseEntity<byte[]>(pdfBytes, headers, HttpStatus.OK);
+            // Answered once the render pool has the first bytes; no request thread waits for it
+            return PdfResponses.render(pdfRenderQueue, resume, headers);
         } catch (Exception e) {
             logger.error("Error generating PDF for resume ID: " + id, e);
-            return new ResponseEntity<byte[]>(HttpStatus.INTERNAL_SERVER_ERROR);
+            return PdfResponses.of(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+    }
+    
+    /**
+     * Streams a ZIP with the PDFs of one user's resumes. Admins may omit userId to export every resume,
+     * or every public resume with public=true. Regular users can only export their own.
+     */
+    @GetMapping("/export.zip")
+    @PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportResumes(@RequestParam(required = false) Long userId,
+                                                               @RequestParam(name = "public", defaultValue = "false") boolean publicOnly) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            boolean isAdmin = authentication.getAuthorities().stream()
+                    .anyMatch(a -> a.getAuthority().contains("ADMIN"));
+            Long authenticatedUserId = ((UserDetailsImpl) authentication.getPrincipal()).getId();
+
+            if (!isAdmin) {
+                if (userId != null && !userId.equals(authenticatedUserId)) {
+                    logger.warn("User ID: {} attempted to export resumes of user ID: {}", authenticatedUserId, userId);
+                    return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+                }
+                userId = authenticatedUserId;
+            }
+
+            Long exportUserId = userId;
+            String filename = exportUserId != null ? "resumes-user-" + exportUserId + ".zip"
+                    : publicOnly ? "resumes-public.zip" : "resumes-all.zip";
+            logger.info("User ID: {} exporting {}", authenticatedUserId, filename);
+
+            StreamingResponseBody body = outputStream ->
+                    resumeExportService.exportZip(exportUserId, publicOnly, outputStream);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType("application/zip"));
+            headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error exporting resumes for user ID: " + userId, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
     
@@ -518,4 +668,14 @@ public class ResumeController {
             return new ResponseEntity<>(result, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    private boolean isSummaryView(String view) {
+        if (view == null || "full".equals(view)) {
+            return false;
+        }
+        if ("summary".equals(view)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unknown view: " + view + ", expected full or summary");
+    }
 }
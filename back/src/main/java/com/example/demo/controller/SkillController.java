@@ -0,0 +1,42 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.MessageResponse;
+import com.example.demo.dto.SkillCount;
+import com.example.demo.service.SkillFacetService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:3000", maxAge = 3600, allowCredentials = "true")
+@RestController
+@RequestMapping("/api/public/skills")
+public class SkillController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillController.class);
+
+    @Autowired
+    private SkillFacetService skillFacetService;
+
+    /**
+     * Skill facet counts: the most common skills on public resumes, optionally filtered by name prefix
+     */
+    @GetMapping
+    public ResponseEntity<?> getSkillFacets(@RequestParam(required = false) String prefix,
+                                            @RequestParam(required = false) Integer limit) {
+        try {
+            List<SkillCount> facets = skillFacetService.topSkills(prefix, limit);
+            return new ResponseEntity<>(facets, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Invalid facet parameters: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error getting skill facets: {}", e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
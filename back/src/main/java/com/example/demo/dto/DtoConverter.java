@@ -5,6 +5,7 @@ import com.example.demo.model.Experience;
 import com.example.demo.model.Resume;
 import com.example.demo.model.Skill;
 import com.example.demo.model.User;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -26,6 +27,7 @@ public class DtoConverter {
     /**
      * Converts a Resume entity to a ResumeDto safely
      */
+    @Timed(value = "resume.dto.convert", description = "Resume entity to DTO conversion")
     public ResumeDto convertToDto(Resume resume) {
         if (resume == null) {
             return null;
@@ -34,7 +36,9 @@ public class DtoConverter {
             dto.setId(resume.getId());
             dto.setTitle(resume.getTitle());
             dto.setPersonalInfo(resume.getPersonalInfo());
+            dto.setPersonalDetails(resume.getPersonalDetails());
             dto.setSummary(resume.getSummary());
+            dto.setVersion(resume.getVersion());
             
             // Set new fields
             dto.setIsPublic(resume.getIsPublic());
@@ -45,6 +49,9 @@ public class DtoConverter {
             if (resume.getCreatedAt() != null) {
                 dto.setCreatedAt(resume.getCreatedAt().toString());
             }
+            if (resume.getUpdatedAt() != null) {
+                dto.setUpdatedAt(resume.getUpdatedAt().toString());
+            }
             
             // Set user ID safely
             if (resume.getUser() != null) {
@@ -0,0 +1,66 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * Page envelope for listing endpoints.
+ * Offset pages fill page and totalElements; keyset pages leave them null and return nextCursor instead.
+ */
+public class PageResponse<T> {
+    private List<T> content;
+    private Integer page;
+    private int size;
+    private Long totalElements;
+    private String nextCursor;
+
+    public PageResponse() {
+    }
+
+    public PageResponse(List<T> content, Integer page, int size, Long totalElements, String nextCursor) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(Long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
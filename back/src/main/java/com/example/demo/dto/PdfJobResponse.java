@@ -0,0 +1,84 @@
+package com.example.demo.dto;
+
+import com.example.demo.service.PdfRenderJob;
+
+public class PdfJobResponse {
+    private String jobId;
+    private Long resumeId;
+    private String status;
+    private String createdAt;
+    private String completedAt;
+    private String error;
+    private String resultUrl;
+
+    public PdfJobResponse() {
+    }
+
+    public PdfJobResponse(PdfRenderJob job) {
+        this.jobId = job.getId();
+        this.resumeId = job.getResumeId();
+        this.status = job.getStatus().name();
+        this.createdAt = job.getCreatedAt().toString();
+        this.completedAt = job.getCompletedAt() != null ? job.getCompletedAt().toString() : null;
+        this.error = job.getError();
+        if (job.getStatus() == PdfRenderJob.Status.DONE) {
+            this.resultUrl = "/api/resumes/" + job.getResumeId() + "/pdf/jobs/" + job.getId() + "/result";
+        }
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public Long getResumeId() {
+        return resumeId;
+    }
+
+    public void setResumeId(Long resumeId) {
+        this.resumeId = resumeId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(String completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getResultUrl() {
+        return resultUrl;
+    }
+
+    public void setResultUrl(String resultUrl) {
+        this.resultUrl = resultUrl;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in a listing ordered by createdAt desc, id desc.
+ * Serialized as "createdAt,id", e.g. "2025-05-01T10:15:30.123,42".
+ */
+public record ResumeCursor(LocalDateTime createdAt, Long id) {
+
+    public static ResumeCursor parse(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cursor must not be null");
+        }
+        int separator = value.lastIndexOf(',');
+        if (separator <= 0 || separator == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor: " + value);
+        }
+        try {
+            LocalDateTime createdAt = LocalDateTime.parse(value.substring(0, separator).trim());
+            Long id = Long.valueOf(value.substring(separator + 1).trim());
+            return new ResumeCursor(createdAt, id);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+
+    public String format() {
+        return createdAt + "," + id;
+    }
+}
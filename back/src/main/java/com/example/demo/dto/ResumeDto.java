@@ -1,5 +1,8 @@
 package com.example.demo.dto;
 
+import com.example.demo.model.PersonalInfo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.HashSet;
 import java.util.Set;
 
@@ -8,11 +11,15 @@ public class ResumeDto {
     private String title;
     private Long userId;
     private String personalInfo;
+    @JsonIgnore
+    private PersonalInfo personalDetails;
     private String summary;
     private Set<EducationDto> educations = new HashSet<>();
     private Set<ExperienceDto> experiences = new HashSet<>();
     private Set<SkillDto> skills = new HashSet<>();
     private String createdAt;  // Changed from LocalDateTime to String
+    private String updatedAt;
+    private Long version;
     private Boolean isPublic = false;
     private String templateName = "classic";
     private String publicUrl;
@@ -67,6 +74,24 @@ public class ResumeDto {
     
     public void setPersonalInfo(String personalInfo) {
         this.personalInfo = personalInfo;
+        this.personalDetails = null;
+    }
+
+    /**
+     * Typed personal info; DtoConverter passes on the value parsed when the resume was saved, otherwise
+     * the string is parsed on first use.
+     */
+    @JsonIgnore
+    public PersonalInfo getPersonalDetails() {
+        if (personalDetails == null && personalInfo != null) {
+            personalDetails = PersonalInfo.parse(personalInfo);
+        }
+        return personalDetails;
+    }
+
+    @JsonIgnore
+    public void setPersonalDetails(PersonalInfo personalDetails) {
+        this.personalDetails = personalDetails;
     }
     
     public String getSummary() {
@@ -109,6 +134,22 @@ public class ResumeDto {
         this.createdAt = createdAt;
     }
     
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(String updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Boolean getIsPublic() {
         return isPublic;
     }
@@ -0,0 +1,84 @@
+package com.example.demo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResumeImportResult {
+    private int received;
+    private int imported;
+    private int failed;
+    private boolean errorsTruncated;
+    private List<RecordError> errors = new ArrayList<>();
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<RecordError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RecordError> errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * A record that was not imported; index is its zero-based position in the request body
+     */
+    public static class RecordError {
+        private int index;
+        private String message;
+
+        public RecordError() {
+        }
+
+        public RecordError(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
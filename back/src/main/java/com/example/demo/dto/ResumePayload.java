@@ -0,0 +1,74 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A resume serialized once, together with the stamp it was serialized at, so cached responses can be
+ * written and revalidated without rebuilding the DTO. The gzip copy is null when compression is off
+ * or the JSON is too small to benefit.
+ */
+public class ResumePayload implements ResumeStamp {
+
+    private final Long id;
+    private final Long userId;
+    private final Long version;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final byte[] json;
+    private final byte[] gzip;
+
+    public ResumePayload(ResumeDto resume, byte[] json) {
+        this(resume, json, null);
+    }
+
+    public ResumePayload(ResumeDto resume, byte[] json, byte[] gzip) {
+        this.id = resume.getId();
+        this.userId = resume.getUserId();
+        this.version = resume.getVersion();
+        // DtoConverter writes LocalDateTime.toString(), which keeps the full precision the ETag is built from
+        this.createdAt = resume.getCreatedAt() != null ? LocalDateTime.parse(resume.getCreatedAt()) : null;
+        this.updatedAt = resume.getUpdatedAt() != null ? LocalDateTime.parse(resume.getUpdatedAt()) : null;
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public Long getVersion() {
+        return version;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    /**
+     * Bytes held by this payload, for cache weighing
+     */
+    public int getWeight() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+}
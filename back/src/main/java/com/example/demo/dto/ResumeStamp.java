@@ -0,0 +1,47 @@
+package com.example.demo.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Id, owner, version and timestamps of a resume, read without loading the entity, used to build ETag and
+ * Last-Modified validators.
+ */
+public interface ResumeStamp {
+    Long getId();
+    Long getUserId();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Long getVersion();
+
+    /**
+     * Rows written before updated_at existed fall back to their creation time
+     */
+    default LocalDateTime getLastModified() {
+        return getUpdatedAt() != null ? getUpdatedAt() : getCreatedAt();
+    }
+
+    default long getLastModifiedMillis() {
+        Instant lastModified = lastModifiedInstant();
+        return lastModified != null ? lastModified.toEpochMilli() : -1;
+    }
+
+    /**
+     * Strong ETag for one representation of the resume, e.g. "json" or "pdf".
+     * Uses the full timestamp precision, unlike Last-Modified which only carries seconds.
+     */
+    default String etag(String representation) {
+        Instant lastModified = lastModifiedInstant();
+        if (lastModified == null) {
+            return null;
+        }
+        return "\"" + representation + "-" + getId() + "-" + lastModified.getEpochSecond() + "."
+                + lastModified.getNano() + "\"";
+    }
+
+    private Instant lastModifiedInstant() {
+        LocalDateTime lastModified = getLastModified();
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closed projection of a resume row used by listing endpoints with view=summary.
+ * Queried straight from the resumes table, so no child collections are loaded and
+ * nothing is registered for dirty checking.
+ */
+public interface ResumeSummary {
+    Long getId();
+
+    String getTitle();
+
+    String getTemplateName();
+
+    Boolean getIsPublic();
+
+    String getPublicUrl();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,12 @@
+package com.example.demo.dto;
+
+/**
+ * Facet entry returned by the skills endpoint: a normalized skill name and how many public resumes list it
+ */
+public interface SkillCount {
+    String getName();
+
+    String getDisplayName();
+
+    long getPublicResumeCount();
+}
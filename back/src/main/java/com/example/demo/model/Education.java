@@ -8,7 +8,8 @@ import java.util.Objects;
 public class Education {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "education_seq")
+    @SequenceGenerator(name = "education_seq", sequenceName = "education_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -140,11 +141,13 @@ public class Education {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Education education = (Education) o;
-        return Objects.equals(id, education.id);
+        // Unsaved rows have no id yet and are only equal to themselves
+        return id != null && Objects.equals(id, education.id);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        // Constant per class so the hash does not change when the id is assigned on persist
+        return getClass().hashCode();
     }
 }
\ No newline at end of file
@@ -8,7 +8,8 @@ import java.util.Objects;
 public class Experience {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "experience_seq")
+    @SequenceGenerator(name = "experience_seq", sequenceName = "experience_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -154,11 +155,13 @@ public class Experience {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Experience experience = (Experience) o;
-        return Objects.equals(id, experience.id);
+        // Unsaved rows have no id yet and are only equal to themselves
+        return id != null && Objects.equals(id, experience.id);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        // Constant per class so the hash does not change when the id is assigned on persist
+        return getClass().hashCode();
     }
 }
\ No newline at end of file
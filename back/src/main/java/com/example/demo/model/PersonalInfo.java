@@ -0,0 +1,226 @@
+package com.example.demo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Transient;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Typed personal details of a resume. The client sends them as a JSON string; it is parsed once when the
+ * resume is written and stored in structured columns, so reads and renders never parse JSON again.
+ * Keys without a column, and typed keys whose value is not a string, are kept as JSON in personal_extra,
+ * so the client gets back exactly what it sent. Personal info that is not a JSON object is kept verbatim
+ * as free text.
+ */
+@Embeddable
+public class PersonalInfo {
+
+    @Column(name = "personal_first_name")
+    private String firstName;
+
+    @Column(name = "personal_last_name")
+    private String lastName;
+
+    @Column(name = "personal_job_title")
+    private String jobTitle;
+
+    @Column(name = "personal_email")
+    private String email;
+
+    @Column(name = "personal_phone")
+    private String phone;
+
+    @Column(name = "personal_address")
+    private String address;
+
+    @Column(name = "personal_website")
+    private String website;
+
+    @Column(name = "personal_linkedin")
+    private String linkedin;
+
+    // Usually a data URL, so it can be large
+    @Column(name = "personal_photo", columnDefinition = "TEXT")
+    private String photo;
+
+    // Free-form personal info; the original column, which held every value before it was split up
+    @Column(name = "personal_info", columnDefinition = "TEXT")
+    private String text;
+
+    // JSON object of the keys that have no typed column, e.g. position
+    @Column(name = "personal_extra", columnDefinition = "TEXT")
+    private String extra;
+
+    @Transient
+    private transient String json;
+
+    protected PersonalInfo() {
+    }
+
+    /**
+     * Parses the personal info string sent by the client; returns null for null.
+     */
+    public static PersonalInfo parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        PersonalInfo info = new PersonalInfo();
+        if (value.trim().startsWith("{")) {
+            try {
+                JSONObject object = new JSONObject(value);
+                JSONObject extra = new JSONObject();
+                for (String key : object.keySet()) {
+                    Object field = object.get(key);
+                    if (!(field instanceof String) || !info.assign(key, (String) field)) {
+                        extra.put(key, field);
+                    }
+                }
+                info.extra = extra.isEmpty() ? null : extra.toString();
+                return info;
+            } catch (JSONException e) {
+                // Not valid JSON after all; keep it as text
+            }
+        }
+        info.text = value;
+        return info;
+    }
+
+    // Stores a string value of a typed key; false for keys without a column
+    private boolean assign(String key, String value) {
+        switch (key) {
+            case "firstName":
+                firstName = value;
+                return true;
+            case "lastName":
+                lastName = value;
+                return true;
+            case "jobTitle":
+                jobTitle = value;
+                return true;
+            case "email":
+                email = value;
+                return true;
+            case "phone":
+                phone = value;
+                return true;
+            case "address":
+                address = value;
+                return true;
+            case "website":
+                website = value;
+                return true;
+            case "linkedin":
+                linkedin = value;
+                return true;
+            case "photo":
+                photo = value;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Whether this came from a JSON object rather than free text.
+     */
+    public boolean isStructured() {
+        return text == null;
+    }
+
+    /**
+     * The string form the API exposes: the free text, or the JSON object with the fields that are set
+     * merged with the extra keys.
+     */
+    public String toText() {
+        if (!isStructured()) {
+            return text;
+        }
+        if (json == null) {
+            JSONObject object = extra != null ? new JSONObject(extra) : new JSONObject();
+            object.putOpt("firstName", firstName);
+            object.putOpt("lastName", lastName);
+            object.putOpt("jobTitle", jobTitle);
+            object.putOpt("email", email);
+            object.putOpt("phone", phone);
+            object.putOpt("address", address);
+            object.putOpt("website", website);
+            object.putOpt("linkedin", linkedin);
+            object.putOpt("photo", photo);
+            json = object.toString();
+        }
+        return json;
+    }
+
+    public String getFullName() {
+        return ((firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName)).trim();
+    }
+
+    /**
+     * Non-empty contact lines for compact layouts: the free-text lines, or job title and contact fields.
+     */
+    public List<String> getContactLines() {
+        List<String> lines = new ArrayList<>();
+        if (!isStructured()) {
+            for (String line : text.split("\\R")) {
+                if (!line.trim().isEmpty()) {
+                    lines.add(line.trim());
+                }
+            }
+            return lines;
+        }
+        for (String value : new String[]{jobTitle, email, phone, address, website, linkedin}) {
+            if (value != null && !value.isEmpty()) {
+                lines.add(value);
+            }
+        }
+        return lines;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getWebsite() {
+        return website;
+    }
+
+    public String getLinkedin() {
+        return linkedin;
+    }
+
+    public String getPhoto() {
+        return photo;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getExtra() {
+        return extra;
+    }
+}
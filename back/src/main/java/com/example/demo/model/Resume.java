@@ -7,7 +7,12 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "resumes")
+@Table(name = "resumes", indexes = {
+        @Index(name = "idx_resumes_public_created_id", columnList = "is_public, created_at, id"),
+        @Index(name = "idx_resumes_created_id", columnList = "created_at, id"),
+        // URLs are generated unique; the index still rejects a duplicate supplied through the API
+        @Index(name = "idx_resumes_public_url", columnList = "public_url", unique = true)
+})
 public class Resume {
 
     @Id
@@ -21,8 +26,8 @@ public class Resume {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "personal_info", columnDefinition = "TEXT")
-    private String personalInfo;
+    @Embedded
+    private PersonalInfo personalDetails;
 
     @Column(name = "summary", columnDefinition = "TEXT")
     private String summary;
@@ -38,6 +43,15 @@ public class Resume {
 
     @Column(name = "created_at")
     private LocalDateTime createdAt;
+
+    // Optimistic lock: a concurrent update of the same resume fails instead of overwriting the other one
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    // Bumped by ResumeService on every change, including child-only edits; drives ETag / Last-Modified
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
     
     @Column(name = "is_public")
     private Boolean isPublic = false;
@@ -55,7 +69,7 @@ public class Resume {
                  LocalDateTime createdAt, Boolean isPublic, String templateName, String publicUrl) {
         this.title = title;
         this.user = user;
-        this.personalInfo = personalInfo;
+        this.personalDetails = PersonalInfo.parse(personalInfo);
         this.summary = summary;
         this.createdAt = createdAt;
         this.isPublic = isPublic;
@@ -69,7 +83,7 @@ public class Resume {
         this.id = id;
         this.title = title;
         this.user = user;
-        this.personalInfo = personalInfo;
+        this.personalDetails = PersonalInfo.parse(personalInfo);
         this.summary = summary;
         this.educations = educations;
         this.experiences = experiences;
@@ -105,11 +119,16 @@ public class Resume {
     }
 
     public String getPersonalInfo() {
-        return personalInfo;
+        return personalDetails == null ? null : personalDetails.toText();
     }
 
+    // Parsed here, once per write, into the structured columns
     public void setPersonalInfo(String personalInfo) {
-        this.personalInfo = personalInfo;
+        this.personalDetails = PersonalInfo.parse(personalInfo);
+    }
+
+    public PersonalInfo getPersonalDetails() {
+        return personalDetails;
     }
 
     public String getSummary() {
@@ -152,6 +171,22 @@ public class Resume {
         this.createdAt = createdAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public Boolean getIsPublic() {
         return isPublic;
     }
@@ -181,7 +216,7 @@ public class Resume {
         return "Resume{" +
                "id=" + id +
                ", title='" + title + '\'' +
-               ", personalInfo='" + personalInfo + '\'' +
+               ", personalInfo='" + getPersonalInfo() + '\'' +
                ", summary='" + summary + '\'' +
                ", createdAt=" + createdAt +
                ", isPublic=" + isPublic +
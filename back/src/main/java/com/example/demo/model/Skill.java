@@ -1,14 +1,18 @@
 package com.example.demo.model;
 
 import jakarta.persistence.*;
+import java.util.Locale;
 import java.util.Objects;
 
 @Entity
-@Table(name = "skills")
+@Table(name = "skills", indexes = {
+        @Index(name = "idx_skills_normalized_rank_resume", columnList = "normalized_name, proficiency_rank, resume_id")
+})
 public class Skill {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "skills_seq")
+    @SequenceGenerator(name = "skills_seq", sequenceName = "skills_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -21,6 +25,13 @@ public class Skill {
     @Column(name = "proficiency_level")
     private String proficiencyLevel;
 
+    // Derived from name and proficiencyLevel on every write; used by skill queries and facets
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
+    @Column(name = "proficiency_rank")
+    private Integer proficiencyRank;
+
     public Skill() {
     }
 
@@ -69,6 +80,49 @@ public class Skill {
         this.proficiencyLevel = proficiencyLevel;
     }
 
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+
+    public Integer getProficiencyRank() {
+        return proficiencyRank;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalize() {
+        normalizedName = normalizeName(name);
+        proficiencyRank = proficiencyRank(proficiencyLevel);
+    }
+
+    /**
+     * Case- and whitespace-insensitive form of a skill name, so "Java", " java " and "JAVA" are one skill
+     */
+    public static String normalizeName(String name) {
+        return name == null ? null : name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Orders the proficiency levels offered by the resume form; unknown or missing levels rank 0
+     */
+    public static int proficiencyRank(String proficiencyLevel) {
+        if (proficiencyLevel == null) {
+            return 0;
+        }
+        switch (proficiencyLevel.trim().toUpperCase(Locale.ROOT)) {
+            case "BEGINNER":
+                return 1;
+            case "INTERMEDIATE":
+                return 2;
+            case "ADVANCED":
+                return 3;
+            case "EXPERT":
+                return 4;
+            default:
+                return 0;
+        }
+    }
+
     @Override
     public String toString() {
         return "Skill{" +
@@ -83,11 +137,13 @@ public class Skill {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Skill skill = (Skill) o;
-        return Objects.equals(id, skill.id);
+        // Unsaved rows have no id yet and are only equal to themselves
+        return id != null && Objects.equals(id, skill.id);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        // Constant per class so the hash does not change when the id is assigned on persist
+        return getClass().hashCode();
     }
 }
\ No newline at end of file
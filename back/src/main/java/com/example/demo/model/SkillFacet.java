@@ -0,0 +1,65 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One row per distinct normalized skill name with the number of public resumes listing it.
+ * Maintained incrementally by SkillFacetService, so facet counts never group over the skills table.
+ */
+@Entity
+@Table(name = "skill_facets", indexes = {
+        @Index(name = "idx_skill_facets_count", columnList = "public_resume_count")
+})
+public class SkillFacet {
+
+    @Id
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
+    @Column(name = "display_name", nullable = false)
+    private String displayName;
+
+    @Column(name = "public_resume_count", nullable = false)
+    private long publicResumeCount;
+
+    public SkillFacet() {
+    }
+
+    public SkillFacet(String normalizedName, String displayName, long publicResumeCount) {
+        this.normalizedName = normalizedName;
+        this.displayName = displayName;
+        this.publicResumeCount = publicResumeCount;
+    }
+
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+
+    public void setNormalizedName(String normalizedName) {
+        this.normalizedName = normalizedName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public long getPublicResumeCount() {
+        return publicResumeCount;
+    }
+
+    public void setPublicResumeCount(long publicResumeCount) {
+        this.publicResumeCount = publicResumeCount;
+    }
+
+    @Override
+    public String toString() {
+        return "SkillFacet{" +
+               "normalizedName='" + normalizedName + '\'' +
+               ", publicResumeCount=" + publicResumeCount +
+               '}';
+    }
+}
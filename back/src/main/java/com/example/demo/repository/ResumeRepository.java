@@ -1,10 +1,19 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.ResumeStamp;
+import com.example.demo.dto.ResumeSummary;
 import com.example.demo.model.Resume;
 import com.example.demo.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +24,129 @@ public interface ResumeRepository extends JpaRepository<Resume, Long> {
     List<Resume> findByIsPublicTrue();
     Optional<Resume> findByPublicUrl(String url);
     Optional<Resume> findByPublicUrlAndIsPublicTrue(String url);
+
+    // Listing reads: load the resume rows with their owner in one statement,
+    // then initialize each child collection with one fetch-join query per collection.
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select r from Resume r")
+    List<Resume> findAllWithUser();
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select r from Resume r where r.user.id = :userId")
+    List<Resume> findWithUserByUserId(@Param("userId") Long userId);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select r from Resume r where r.isPublic = true")
+    List<Resume> findPublicWithUser();
+
+    // Paged listings. Keyset queries walk (created_at, id) backwards and are served by the
+    // (is_public, created_at, id) / (created_at, id) indexes on the resumes table.
+
+    @EntityGraph(attributePaths = "user")
+    @Query(value = "select r from Resume r", countQuery = "select count(r) from Resume r")
+    Page<Resume> findPageWithUser(Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    @Query(value = "select r from Resume r where r.isPublic = true",
+            countQuery = "select count(r) from Resume r where r.isPublic = true")
+    Page<Resume> findPublicPageWithUser(Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select r from Resume r where r.createdAt is not null order by r.createdAt desc, r.id desc")
+    List<Resume> findFirstByKeyset(Pageable limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select r from Resume r where r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id) " +
+            "order by r.createdAt desc, r.id desc")
+    List<Resume> findAfterKeyset(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select r from Resume r where r.isPublic = true and r.createdAt is not null " +
+            "order by r.createdAt desc, r.id desc")
+    List<Resume> findPublicFirstByKeyset(Pageable limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select r from Resume r where r.isPublic = true " +
+            "and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id)) " +
+            "order by r.createdAt desc, r.id desc")
+    List<Resume> findPublicAfterKeyset(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                       Pageable limit);
+
+    // Summary projections: scalar columns only, no entities or child collections
+
+    @Query("select r.id as id, r.title as title, r.templateName as templateName, r.isPublic as isPublic, " +
+            "r.publicUrl as publicUrl, r.createdAt as createdAt from Resume r where r.user.id = :userId " +
+            "order by r.createdAt desc, r.id desc")
+    List<ResumeSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(value = "select r.id as id, r.title as title, r.templateName as templateName, r.isPublic as isPublic, " +
+            "r.publicUrl as publicUrl, r.createdAt as createdAt from Resume r",
+            countQuery = "select count(r) from Resume r")
+    Page<ResumeSummary> findSummaryPage(Pageable pageable);
+
+    @Query("select r.id as id, r.title as title, r.templateName as templateName, r.isPublic as isPublic, " +
+            "r.publicUrl as publicUrl, r.createdAt as createdAt from Resume r where r.id in :ids")
+    List<ResumeSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Resumes having every requested skill: the subquery is answered from the normalized skill index
+    @Query(value = "select r.id as id, r.title as title, r.templateName as templateName, r.isPublic as isPublic, " +
+            "r.publicUrl as publicUrl, r.createdAt as createdAt from Resume r where r.isPublic = true and r.id in (" +
+            "select s.resume.id from Skill s where s.normalizedName in :names and s.proficiencyRank >= :minRank " +
+            "group by s.resume.id having count(distinct s.normalizedName) = :nameCount) " +
+            "order by r.createdAt desc, r.id desc",
+            countQuery = "select count(r) from Resume r where r.isPublic = true and r.id in (" +
+                    "select s.resume.id from Skill s where s.normalizedName in :names and s.proficiencyRank >= :minRank " +
+                    "group by s.resume.id having count(distinct s.normalizedName) = :nameCount)")
+    Page<ResumeSummary> findPublicSummariesBySkills(@Param("names") Collection<String> names,
+                                                    @Param("minRank") int minRank,
+                                                    @Param("nameCount") long nameCount,
+                                                    Pageable pageable);
+
+    // Substring fallback for search on databases without the full-text index
+    @Query(value = "select r.id as id, r.title as title, r.templateName as templateName, r.isPublic as isPublic, " +
+            "r.publicUrl as publicUrl, r.createdAt as createdAt from Resume r where r.isPublic = true " +
+            "and (lower(r.title) like :pattern or lower(r.summary) like :pattern) order by r.id desc",
+            countQuery = "select count(r) from Resume r where r.isPublic = true " +
+                    "and (lower(r.title) like :pattern or lower(r.summary) like :pattern)")
+    Page<ResumeSummary> searchPublicSummaries(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "select r.id as id, r.title as title, r.templateName as templateName, r.isPublic as isPublic, " +
+            "r.publicUrl as publicUrl, r.createdAt as createdAt from Resume r where r.isPublic = true",
+            countQuery = "select count(r) from Resume r where r.isPublic = true")
+    Page<ResumeSummary> findPublicSummaryPage(Pageable pageable);
+
+    // Validators for conditional GETs
+
+    @Query("select r.id as id, r.user.id as userId, r.createdAt as createdAt, r.updatedAt as updatedAt, " +
+            "r.version as version from Resume r where r.id = :id")
+    Optional<ResumeStamp> findStampById(@Param("id") Long id);
+
+    @Query("select r.id as id, r.user.id as userId, r.createdAt as createdAt, r.updatedAt as updatedAt, " +
+            "r.version as version from Resume r where r.publicUrl = :url and r.isPublic = true")
+    Optional<ResumeStamp> findPublicStampByUrl(@Param("url") String url);
+
+    // Export chunks: walk the primary key so each chunk is an index range scan regardless of offset
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select r from Resume r where r.id > :afterId order by r.id")
+    List<Resume> findExportChunk(@Param("afterId") Long afterId, Pageable limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select r from Resume r where r.user.id = :userId and r.id > :afterId order by r.id")
+    List<Resume> findExportChunkByUserId(@Param("userId") Long userId, @Param("afterId") Long afterId,
+                                         Pageable limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select r from Resume r where r.isPublic = true and r.id > :afterId order by r.id")
+    List<Resume> findPublicExportChunk(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query("select r from Resume r left join fetch r.educations where r.id in :ids")
+    List<Resume> fetchEducations(@Param("ids") Collection<Long> ids);
+
+    @Query("select r from Resume r left join fetch r.experiences where r.id in :ids")
+    List<Resume> fetchExperiences(@Param("ids") Collection<Long> ids);
+
+    @Query("select r from Resume r left join fetch r.skills where r.id in :ids")
+    List<Resume> fetchSkills(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,47 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.SkillCount;
+import com.example.demo.model.SkillFacet;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SkillFacetRepository extends JpaRepository<SkillFacet, String> {
+
+    @Modifying
+    @Query("update SkillFacet f set f.publicResumeCount = f.publicResumeCount + :delta " +
+            "where f.normalizedName in :names")
+    int adjustCounts(@Param("names") Collection<String> names, @Param("delta") long delta);
+
+    // Inserted with a statement rather than persisted, so no managed copy goes stale after adjustCounts
+    @Modifying
+    @Query("insert into SkillFacet (normalizedName, displayName, publicResumeCount) values (:name, :displayName, 1)")
+    int insertFacet(@Param("name") String name, @Param("displayName") String displayName);
+
+    @Query("select f.normalizedName from SkillFacet f where f.normalizedName in :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    @Query("select f.normalizedName as name, f.displayName as displayName, " +
+            "f.publicResumeCount as publicResumeCount from SkillFacet f where f.publicResumeCount > 0 and f.normalizedName like :prefix escape '\\' " +
+            "order by f.publicResumeCount desc, f.normalizedName")
+    List<SkillCount> findTop(@Param("prefix") String prefix, Pageable pageable);
+
+    // Full recount, used when the table is first created and to repair drift
+    @Modifying
+    @Query("insert into SkillFacet (normalizedName, displayName, publicResumeCount) " +
+            "select s.normalizedName, min(s.name), count(distinct s.resume.id) from Skill s " +
+            "where s.resume.isPublic = true and s.normalizedName is not null group by s.normalizedName")
+    int insertRecount();
+
+    @Query("select s.normalizedName, count(distinct s.resume.id) from Skill s " +
+            "where s.resume.user.id = :userId and s.resume.isPublic = true and s.normalizedName is not null " +
+            "group by s.normalizedName")
+    List<Object[]> countPublicSkillsByUserId(@Param("userId") Long userId);
+}
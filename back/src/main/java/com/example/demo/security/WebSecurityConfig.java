@@ -2,6 +2,7 @@ package com.example.demo.security;
 
 import com.example.demo.security.jwt.AuthEntryPointJwt;
 import com.example.demo.security.services.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -79,12 +80,18 @@ public class WebSecurityConfig {
                     session.sessionCreationPolicy(SessionCreationPolicy.STATELESS);
                 })                .authorizeHttpRequests(auth -> {
                     logger.info("Configuring authorization rules");
-                    auth.requestMatchers("/api/auth/**").permitAll()
+                    // Async and error dispatches only write out a response whose request was already
+                    // authorized; AuthTokenFilter runs once per request, so they carry no authentication
+                    auth.dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                            .requestMatchers("/api/auth/**").permitAll()
                             .requestMatchers("/api/test/**").permitAll()
                             .requestMatchers("/api/debug/**").permitAll() // Allow access to debug controller
                             .requestMatchers("/api/public/**").permitAll() // Allow access to public endpoints
                             .requestMatchers("/api/public/resumes/**").permitAll() // Allow access to public resumes
+                            .requestMatchers("/r/**").permitAll() // Server-rendered public resume pages
                             .requestMatchers("/api/resumes/debug/**").permitAll() // Allow debug endpoints
+                            // Scraped on the management port, which is not published with the API port
+                            .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                             .anyRequest().authenticated();
                 });
 
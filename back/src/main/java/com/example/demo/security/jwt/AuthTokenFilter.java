@@ -1,6 +1,7 @@
 package com.example.demo.security.jwt;
 
-import com.example.demo.security.services.UserDetailsServiceImpl;
+import com.example.demo.security.services.UserPrincipalCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,13 +18,19 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private UserPrincipalCache principalCache;
+
+    // When enabled the principal is built from the token's id/roles claims and the hot path does no I/O;
+    // role changes and deletions then only take effect once the token expires.
+    @Value("${auth.principal-from-claims:false}")
+    private boolean principalFromClaims;
 
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);    @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -31,8 +39,14 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             String jwt = parseJwt(request);
             logger.debug("JWT Token received: {}", jwt != null ? jwt.substring(0, Math.min(10, jwt.length())) + "..." : "null");
             
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                logger.debug("Username from token: {}", username);                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Optional<Claims> claims = jwt != null ? jwtUtils.validateAndGetClaims(jwt) : Optional.empty();
+            if (claims.isPresent()) {
+                String username = claims.get().getSubject();
+                logger.debug("Username from token: {}", username);
+                UserDetails userDetails = principalFromClaims
+                        ? jwtUtils.getPrincipalFromClaims(claims.get())
+                                .orElseGet(() -> principalCache.loadUserByUsername(username))
+                        : principalCache.loadUserByUsername(username);
                 logger.info("User details loaded - Username: {}, Authorities: {}", 
                         userDetails.getUsername(),
                         userDetails.getAuthorities());
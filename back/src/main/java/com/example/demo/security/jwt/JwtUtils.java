@@ -1,59 +1,157 @@
 package com.example.demo.security.jwt;
 
 import com.example.demo.security.services.UserDetailsImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_EMAIL = "email";
+    private static final String CLAIM_ROLES = "roles";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
+    @Value("${jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    // Built once at startup; the parser is immutable and safe to share between request threads
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    // Recently verified tokens keyed by SHA-256 of the token, each entry expiring with the token itself
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        Date expiration = claims.getExpiration();
+                        long remainingMs = expiration != null
+                                ? expiration.getTime() - System.currentTimeMillis()
+                                : jwtExpirationMs;
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
     public String generateJwtToken(Authentication authentication) {
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
 
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername()))
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_ROLES, roles)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-    
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+
+    /**
+     * Rebuilds the principal from the id, email and roles claims without touching the database.
+     * Empty for tokens issued before these claims were added.
+     */
+    public Optional<UserDetailsImpl> getPrincipalFromClaims(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        Object roles = claims.get(CLAIM_ROLES);
+        if (userId == null || !(roles instanceof Collection<?> roleNames)) {
+            return Optional.empty();
+        }
+        List<GrantedAuthority> authorities = roleNames.stream()
+                .map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+                .collect(Collectors.toList());
+        return Optional.of(new UserDetailsImpl(userId.longValue(), claims.getSubject(),
+                claims.get(CLAIM_EMAIL, String.class), null, authorities));
     }
 
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
-    }    public boolean validateJwtToken(String authToken) {
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return validateAndGetClaims(authToken).isPresent();
+    }
+
+    /**
+     * Verifies the token and returns its claims, parsing it at most once per token lifetime.
+     * Returns an empty Optional when the token is missing, malformed, expired or wrongly signed.
+     */
+    @Timed(value = "auth.jwt.validation", description = "JWT validation in AuthTokenFilter, including verified-token cache hits")
+    public Optional<Claims> validateAndGetClaims(String authToken) {
         if (authToken == null) {
             logger.error("JWT token is null");
-            return false;
+            return Optional.empty();
         }
-        
+
+        String tokenHash = hash(authToken);
+        Claims cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
         try {
             logger.debug("Validating JWT token: {}", authToken.substring(0, Math.min(10, authToken.length())) + "...");
-            // Validate the token and extract expiration date
-            Date expirationDate = Jwts.parserBuilder().setSigningKey(key()).build()
-                    .parseClaimsJws(authToken).getBody().getExpiration();
-            logger.debug("Token is valid. Expiration date: {}", expirationDate);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
+            logger.debug("Token is valid. Expiration date: {}", claims.getExpiration());
+            verifiedTokens.put(tokenHash, claims);
+            return Optional.of(claims);
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -66,6 +164,27 @@ public class JwtUtils {
             logger.error("Unexpected error validating JWT token: {}", e.getMessage());
         }
 
-        return false;
+        return Optional.empty();
+    }
+
+    public Map<String, Object> verifiedTokenStats() {
+        CacheStats stats = verifiedTokens.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", verifiedTokens.estimatedSize());
+        result.put("maxEntries", verifiedCacheSize);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -0,0 +1,122 @@
+package com.example.demo.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TTL-bounded cache of authenticated principals in front of UserDetailsServiceImpl,
+ * used by AuthTokenFilter so an authenticated request does not hit the users table.
+ * Login still goes through UserDetailsServiceImpl directly and always sees the current password.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPrincipalCache.class);
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    private final Cache<String, UserDetailsImpl> principals;
+    // Bumped by every invalidation; a load that overlapped one does not cache what it read
+    private final AtomicLong invalidations = new AtomicLong();
+    private final long maxEntries;
+    private final long ttlSeconds;
+
+    public UserPrincipalCache(@Value("${auth.principal-cache.max-entries:10000}") long maxEntries,
+                              @Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlSeconds = ttlSeconds;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    // The lookup runs outside the cache: Cache.get would hold a map lock during the query,
+    // which pins the carrier thread when requests run on virtual threads
+    public UserDetailsImpl loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetailsImpl cached = principals.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = invalidations.get();
+        UserDetailsImpl loaded = (UserDetailsImpl) userDetailsService.loadUserByUsername(username);
+        if (invalidations.get() == generation) {
+            principals.put(username, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidateUsername(String username) {
+        if (username != null) {
+            invalidations.incrementAndGet();
+            principals.invalidate(username);
+        }
+    }
+
+    /**
+     * Drops the cached principal of the given user whatever username it was cached under,
+     * which also covers renames
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        principals.asMap().values().removeIf(principal -> userId.equals(principal.getId()));
+        logger.debug("Invalidated cached principal for user ID: {}", userId);
+    }
+
+    /**
+     * Invalidates once the current transaction commits, so a request running meanwhile cannot cache the user
+     * again from the not yet committed state. Without a transaction it invalidates right away.
+     */
+    public void invalidateUserAfterCommit(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateUser(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateUser(userId);
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        principals.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = principals.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", principals.estimatedSize());
+        result.put("maxEntries", maxEntries);
+        result.put("ttlSeconds", ttlSeconds);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
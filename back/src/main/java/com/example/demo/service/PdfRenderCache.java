@@ -0,0 +1,176 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EducationDto;
+import com.example.demo.dto.ExperienceDto;
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.SkillDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of rendered resume PDFs.
+ * Entries are keyed by a content fingerprint of the ResumeDto (template name included),
+ * so an edited resume never hits a stale document. Eviction is weighted by document size.
+ */
+@Component
+public class PdfRenderCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfRenderCache.class);
+
+    private final Cache<RenderKey, byte[]> cache;
+    private final long maxEntries;
+    private final long maxBytes;
+
+    public PdfRenderCache(@Value("${pdf.cache.max-entries:500}") long maxEntries,
+                          @Value("${pdf.cache.max-bytes:67108864}") long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        // Every entry weighs at least maxBytes / maxEntries, which caps the entry count
+        // as well as the total byte size with a single weighted bound.
+        int minWeight = (int) Math.max(1, maxBytes / Math.max(1, maxEntries));
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((RenderKey key, byte[] pdf) -> Math.max(pdf.length, minWeight))
+                .recordStats()
+                .build();
+        logger.info("PDF render cache initialized with max {} entries / {} bytes", maxEntries, maxBytes);
+    }
+
+    public RenderKey keyFor(ResumeDto resumeDto) {
+        return new RenderKey(resumeDto.getId(), fingerprint(resumeDto));
+    }
+
+    public byte[] get(RenderKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(RenderKey key, byte[] pdf) {
+        cache.put(key, pdf);
+    }
+
+    /**
+     * Drops every rendered variant of the given resume
+     */
+    public void invalidate(Long resumeId) {
+        if (resumeId == null) {
+            return;
+        }
+        cache.asMap().keySet().removeIf(key -> resumeId.equals(key.resumeId()));
+        logger.debug("Invalidated cached PDFs for resume ID: {}", resumeId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", cache.estimatedSize());
+        result.put("weightedBytes", cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L));
+        result.put("maxEntries", maxEntries);
+        result.put("maxBytes", maxBytes);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("evictedBytes", stats.evictionWeight());
+        return result;
+    }
+
+    /**
+     * Computes a stable SHA-256 fingerprint over everything that affects the rendered PDF.
+     * Child collections are sets without a defined order, so their entries are sorted first.
+     */
+    String fingerprint(ResumeDto resumeDto) {
+        MessageDigest digest = sha256();
+        // Normalized like PdfTemplateRegistry, so names differing only in case share an entry
+        update(digest, PdfTemplateRegistry.normalize(resumeDto.getTemplateName()));
+        update(digest, resumeDto.getTitle());
+        update(digest, resumeDto.getPersonalInfo());
+        update(digest, resumeDto.getSummary());
+        updateSorted(digest, resumeDto.getExperiences(), this::describe);
+        updateSorted(digest, resumeDto.getEducations(), this::describe);
+        updateSorted(digest, resumeDto.getSkills(), this::describe);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private String describe(ExperienceDto experience) {
+        return String.join("\u0001", String.valueOf(experience.getPosition()), String.valueOf(experience.getCompany()),
+                String.valueOf(experience.getLocation()), String.valueOf(experience.getStartDate()),
+                String.valueOf(experience.getEndDate()), String.valueOf(experience.getIsCurrent()),
+                String.valueOf(experience.getDescription()));
+    }
+
+    private String describe(EducationDto education) {
+        return String.join("\u0001", String.valueOf(education.getInstitution()), String.valueOf(education.getDegree()),
+                String.valueOf(education.getFieldOfStudy()), String.valueOf(education.getStartDate()),
+                String.valueOf(education.getEndDate()), String.valueOf(education.getDescription()));
+    }
+
+    private String describe(SkillDto skill) {
+        return String.join("\u0001", String.valueOf(skill.getName()), String.valueOf(skill.getProficiencyLevel()));
+    }
+
+    private <T> void updateSorted(MessageDigest digest, Collection<T> items, Function<T, String> describer) {
+        if (items == null) {
+            update(digest, null);
+            return;
+        }
+        List<String> parts = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (item != null) {
+                parts.add(describer.apply(item));
+            }
+        }
+        parts.sort(null);
+        update(digest, String.valueOf(parts.size()));
+        for (String part : parts) {
+            update(digest, part);
+        }
+    }
+
+    private void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(intToBytes(bytes.length));
+        digest.update(bytes);
+    }
+
+    private static byte[] intToBytes(int value) {
+        return new byte[] {(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public record RenderKey(Long resumeId, String fingerprint) {
+    }
+}
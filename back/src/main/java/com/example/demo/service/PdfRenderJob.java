@@ -0,0 +1,82 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ResumeDto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A queued PDF render. The resume is snapshotted at submission, so later edits do not change the job's output.
+ */
+public class PdfRenderJob {
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long ownerId;
+    private final ResumeDto resume;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime completedAt;
+    private volatile byte[] result;
+    private volatile String error;
+
+    public PdfRenderJob(ResumeDto resume, Long ownerId) {
+        this.resume = resume;
+        this.ownerId = ownerId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getResumeId() {
+        return resume.getId();
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public ResumeDto getResume() {
+        return resume;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public byte[] getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    void markRunning() {
+        status = Status.RUNNING;
+    }
+
+    void complete(byte[] pdf) {
+        result = pdf;
+        completedAt = LocalDateTime.now();
+        status = Status.DONE;
+    }
+
+    void fail(String message) {
+        error = message;
+        completedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ResumeDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded worker pool for PDF rendering, kept apart from the servlet threads so a burst of long renders
+ * cannot starve regular API calls. When the queue is full submissions are rejected instead of piling up;
+ * callers turn that into 429 with Retry-After.
+ */
+@Service
+public class PdfRenderQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfRenderQueue.class);
+
+    // A synchronous render runs at most this far ahead of the download, whatever the size of the PDF
+    static final int CHUNK_BYTES = 8192;
+    static final int PIPE_CHUNKS = 16;
+
+    @Autowired
+    private PdfService pdfService;
+
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, PdfRenderJob> jobs;
+    private final int workers;
+    private final int queueCapacity;
+
+    @Value("${pdf.render.sync-via-pool:true}")
+    private boolean syncViaPool;
+
+    @Value("${pdf.render.sync-timeout-seconds:25}")
+    private long syncTimeoutSeconds;
+
+    @Value("${pdf.render.retry-after-seconds:5}")
+    private long retryAfterSeconds;
+
+    public PdfRenderQueue(@Value("${pdf.render.workers:4}") int workers,
+                          @Value("${pdf.render.queue-capacity:50}") int queueCapacity,
+                          @Value("${pdf.jobs.ttl-seconds:600}") long jobTtlSeconds,
+                          @Value("${pdf.jobs.max-result-bytes:67108864}") long maxResultBytes) {
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads(), new ThreadPoolExecutor.AbortPolicy());
+        // Finished jobs are re-inserted so their weight reflects the rendered PDF
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(jobTtlSeconds))
+                .maximumWeight(maxResultBytes)
+                .weigher((String id, PdfRenderJob job) -> job.getResult() != null ? Math.max(1, job.getResult().length) : 1)
+                .build();
+        logger.info("PDF render pool initialized with {} workers and queue capacity {}", workers, queueCapacity);
+    }
+
+    /**
+     * Queues a render job for the resume.
+     *
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public PdfRenderJob submit(ResumeDto resume, Long ownerId) {
+        PdfRenderJob job = new PdfRenderJob(resume, ownerId);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            logger.warn("PDF render queue full, rejecting job for resume ID: {}", resume.getId());
+            throw e;
+        }
+        logger.debug("Queued PDF render job {} for resume ID: {}", job.getId(), resume.getId());
+        return job;
+    }
+
+    public Optional<PdfRenderJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    /**
+     * Renders the PDF for the synchronous download endpoints. The future completes once the first bytes are
+     * ready, or the render has ended, so a failure up to then can still be answered with a status; the
+     * {@link RenderedPdf} then copies the rest to the response as it is produced.
+     * With pdf.render.sync-via-pool the work runs on the render pool and is handed over through a pipe of
+     * PIPE_CHUNKS chunks, so the worker never touches the response and never holds the whole document.
+     * The render and the copy together get pdf.render.sync-timeout-seconds; iText ignores interrupts, so a
+     * render that is given up on is stopped by failing its next write. A full queue fails the future with
+     * RejectedExecutionException, a render that produced nothing in time with TimeoutException.
+     */
+    public CompletableFuture<RenderedPdf> render(ResumeDto resume) {
+        if (!syncViaPool) {
+            return CompletableFuture.completedFuture(outputStream -> pdfService.generateResumePdf(resume, outputStream));
+        }
+
+        CompletableFuture<RenderedPdf> ready = new CompletableFuture<>();
+        RenderPipe pipe = new RenderPipe(ready, System.nanoTime() + TimeUnit.SECONDS.toNanos(syncTimeoutSeconds));
+        Future<?> task;
+        try {
+            task = executor.submit(() -> renderInto(resume, pipe, ready));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        ready.orTimeout(syncTimeoutSeconds, TimeUnit.SECONDS).whenComplete((pdf, error) -> {
+            if (error != null) {
+                pipe.cancel();
+                task.cancel(false);
+            }
+        });
+        return ready;
+    }
+
+    private void renderInto(ResumeDto resume, RenderPipe pipe, CompletableFuture<RenderedPdf> ready) {
+        if (ready.isDone()) {
+            return;
+        }
+        try {
+            pdfService.generateResumePdf(resume, pipe);
+            pipe.finish();
+        } catch (Exception e) {
+            if (!pipe.isCancelled()) {
+                logger.debug("PDF render failed for resume ID: {}", resume.getId(), e);
+            }
+            pipe.fail(e);
+            ready.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * True when no further work can be queued; checked before a synchronous download commits its headers
+     */
+    public boolean isSaturated() {
+        return syncViaPool && executor.getQueue().remainingCapacity() == 0;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("workers", workers);
+        result.put("active", executor.getActiveCount());
+        result.put("queued", executor.getQueue().size());
+        result.put("queueCapacity", queueCapacity);
+        result.put("completed", executor.getCompletedTaskCount());
+        result.put("retainedJobs", jobs.estimatedSize());
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(PdfRenderJob job) {
+        job.markRunning();
+        try {
+            job.complete(pdfService.generateResumePdf(job.getResume()));
+            logger.debug("PDF render job {} finished", job.getId());
+        } catch (Exception e) {
+            logger.error("PDF render job {} failed for resume ID: {}", job.getId(), job.getResumeId(), e);
+            job.fail(e.getMessage());
+        }
+        jobs.put(job.getId(), job);
+    }
+
+    /**
+     * A rendered (or rendering) PDF, written to the response by the download
+     */
+    @FunctionalInterface
+    public interface RenderedPdf {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * Hands a synchronous render from the worker to the download in chunks of CHUNK_BYTES. The worker blocks
+     * while PIPE_CHUNKS chunks are waiting, and its writes fail once the download gave up, timed out or failed
+     * writing to the client, which ends a render that cannot be interrupted.
+     */
+    private static final class RenderPipe extends OutputStream implements RenderedPdf {
+        private static final byte[] END = new byte[0];
+
+        private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(PIPE_CHUNKS);
+        private final CompletableFuture<RenderedPdf> ready;
+        private final long deadline;
+        private byte[] pending = new byte[CHUNK_BYTES];
+        private int count;
+        private volatile boolean cancelled;
+        private volatile Exception failure;
+
+        RenderPipe(CompletableFuture<RenderedPdf> ready, long deadline) {
+            this.ready = ready;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            pending[count++] = (byte) b;
+            if (count == CHUNK_BYTES) {
+                handOver();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            while (len > 0) {
+                int n = Math.min(len, CHUNK_BYTES - count);
+                System.arraycopy(b, off, pending, count, n);
+                count += n;
+                off += n;
+                len -= n;
+                if (count == CHUNK_BYTES) {
+                    handOver();
+                }
+            }
+        }
+
+        void finish() throws IOException {
+            if (count > 0) {
+                pending = Arrays.copyOf(pending, count);
+                handOver();
+            }
+            put(END);
+            ready.complete(this);
+        }
+
+        void fail(Exception e) {
+            failure = e;
+            chunks.clear();
+            chunks.offer(END);
+        }
+
+        void cancel() {
+            cancelled = true;
+            // Unblocks a worker waiting for room; its next write then fails
+            chunks.clear();
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void handOver() throws IOException {
+            put(pending);
+            pending = new byte[CHUNK_BYTES];
+            count = 0;
+            ready.complete(this);
+        }
+
+        private void ensureOpen() throws IOException {
+            if (cancelled) {
+                throw new IOException("PDF download cancelled");
+            }
+        }
+
+        private void put(byte[] chunk) throws IOException {
+            ensureOpen();
+            try {
+                if (!chunks.offer(chunk, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    throw new IOException("PDF download timed out");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while handing over PDF output");
+            }
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            try {
+                while (true) {
+                    byte[] chunk = chunks.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (chunk == null) {
+                        throw new IOException("PDF render timed out");
+                    }
+                    if (chunk == END) {
+                        if (failure != null) {
+                            throw new IOException("PDF render failed", failure);
+                        }
+                        return;
+                    }
+                    outputStream.write(chunk);
+                }
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while streaming PDF");
+            } catch (IOException e) {
+                cancel();
+                throw e;
+            }
+        }
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "pdf-render-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -4,178 +4,220 @@ import com.example.demo.dto.EducationDto;
 import com.example.demo.dto.ExperienceDto;
 import com.example.demo.dto.ResumeDto;
 import com.example.demo.dto.SkillDto;
+import com.example.demo.model.PersonalInfo;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
-import com.itextpdf.text.pdf.draw.LineSeparator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 
 @Service
 public class PdfService {
-    private static final BaseColor CLASSIC_PRIMARY_COLOR = new BaseColor(44, 86, 134); 
-    private static final BaseColor CLASSIC_SECONDARY_COLOR = BaseColor.DARK_GRAY;
-    private static final BaseColor CLASSIC_TEXT_COLOR = BaseColor.BLACK;
-    
-    private static final Font TITLE_FONT = new Font(Font.FontFamily.TIMES_ROMAN, 22, Font.BOLD, CLASSIC_PRIMARY_COLOR);
-    private static final Font SECTION_FONT = new Font(Font.FontFamily.TIMES_ROMAN, 18, Font.BOLD, CLASSIC_PRIMARY_COLOR);
-    private static final Font SUBSECTION_FONT = new Font(Font.FontFamily.TIMES_ROMAN, 14, Font.BOLD, CLASSIC_SECONDARY_COLOR);
-    private static final Font NORMAL_FONT = new Font(Font.FontFamily.TIMES_ROMAN, 12, Font.NORMAL, CLASSIC_TEXT_COLOR);
-    private static final Font ITALIC_FONT = new Font(Font.FontFamily.TIMES_ROMAN, 12, Font.ITALIC, CLASSIC_TEXT_COLOR);
-    
-    public byte[] generateResumePdf(ResumeDto resumeDto) throws DocumentException, IOException {        Document document = new Document(PageSize.A4);
-        document.setMargins(60, 60, 60, 60); // Add more margin space for a cleaner look
+    private static final Logger logger = LoggerFactory.getLogger(PdfService.class);
+
+    @Autowired
+    private PdfRenderCache renderCache;
+
+    @Autowired
+    private PdfTemplateRegistry templateRegistry;
+
+    // Streamed renders up to this size are copied into the render cache; the copy of a larger one is dropped
+    // as soon as it outgrows the limit, so a render never holds more than this beside the stream it writes to
+    @Value("${pdf.cache.max-entry-bytes:2097152}")
+    private int maxCachedPdfBytes;
+
+    // Spring Boot's registry is also added to the global one, which stands in where no registry bean exists
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    public byte[] generateResumePdf(ResumeDto resumeDto) throws DocumentException, IOException {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        generateResumePdf(resumeDto, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Writes the PDF straight to the given stream, which is left open.
+     * Served from the render cache when possible; otherwise the render is copied into the cache
+     * as long as it stays under pdf.cache.max-entry-bytes.
+     */
+    public void generateResumePdf(ResumeDto resumeDto, OutputStream outputStream) throws IOException {
+        PdfRenderCache.RenderKey key = renderCache.keyFor(resumeDto);
+        byte[] cached = renderCache.get(key);
+        if (cached != null) {
+            logger.debug("Serving cached PDF for resume ID: {}", resumeDto.getId());
+            outputStream.write(cached);
+            return;
+        }
+
+        CachingOutputStream cachingStream = new CachingOutputStream(outputStream, maxCachedPdfBytes);
+        String templateName = templateRegistry.get(resumeDto.getTemplateName()).getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int pages;
+        try {
+            pages = renderResumePdf(resumeDto, cachingStream);
+        } catch (DocumentException e) {
+            throw new IOException("Failed to render PDF for resume ID: " + resumeDto.getId(), e);
+        }
+        cachingStream.flush();
+        recordRender(sample, templateName, pages, cachingStream.bytesWritten());
+
+        byte[] pdfBytes = cachingStream.copiedBytes();
+        if (pdfBytes != null) {
+            renderCache.put(key, pdfBytes);
+        } else {
+            logger.debug("PDF for resume ID: {} exceeds {} bytes, not caching", resumeDto.getId(), maxCachedPdfBytes);
+        }
+    }
+    
+    // Cache hits are not recorded here; PdfRenderCache counts them
+    private void recordRender(Timer.Sample sample, String templateName, int pages, long bytes) {
+        sample.stop(Timer.builder("pdf.render")
+                .description("Time to render a resume PDF")
+                .tag("template", templateName)
+                .register(meterRegistry));
+        DistributionSummary.builder("pdf.render.pages")
+                .description("Pages per rendered resume PDF")
+                .tag("template", templateName)
+                .register(meterRegistry)
+                .record(pages);
+        DistributionSummary.builder("pdf.render.size")
+                .description("Size of rendered resume PDFs")
+                .baseUnit("bytes")
+                .tag("template", templateName)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    /**
+     * Renders the PDF and returns its page count
+     */
+    private int renderResumePdf(ResumeDto resumeDto, OutputStream outputStream) throws DocumentException, IOException {
+        // Fonts, colors, separator and headings come precompiled from the template selected by templateName
+        PdfTemplate template = templateRegistry.get(resumeDto.getTemplateName());
+        Font normalFont = template.getNormalFont();
+        Font italicFont = template.getItalicFont();
+        Font sectionFont = template.getSectionFont();
+        
+        Document document = new Document(PageSize.A4);
+        document.setMargins(template.getMargin(), template.getMargin(), template.getMargin(), template.getMargin());
         
-        // Initialize PDF writer
-        PdfWriter.getInstance(document, outputStream);
+        // Initialize PDF writer; the caller owns the stream, so closing the document must not close it
+        PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+        writer.setCloseStream(false);
         document.open();
         
-        // Title - Match the centered layout of ClassicTemplate.js
-        Paragraph title = new Paragraph(resumeDto.getTitle(), TITLE_FONT);
-        title.setAlignment(Element.ALIGN_CENTER);
+        // Title - classic matches the centered layout of ClassicTemplate.js
+        Paragraph title = new Paragraph(resumeDto.getTitle(), template.getTitleFont());
+        title.setAlignment(template.getHeaderAlignment());
         title.setSpacingAfter(15);
         document.add(title);
         
-        String personalInfoStr = resumeDto.getPersonalInfo();
-        if (personalInfoStr != null && !personalInfoStr.isEmpty() && personalInfoStr.trim().startsWith("{")) {
-            try {
-                org.json.JSONObject personalInfo = new org.json.JSONObject(personalInfoStr);
-                
-                if (personalInfo.has("firstName") || personalInfo.has("lastName")) {
-                    String fullName = 
-                        (personalInfo.optString("firstName", "") + " " + 
-                         personalInfo.optString("lastName", "")).trim();
-                    
-                    if (!fullName.isEmpty()) {
-                        Font nameFont = new Font(Font.FontFamily.TIMES_ROMAN, 16, Font.BOLD, CLASSIC_TEXT_COLOR);
-                        Paragraph namePara = new Paragraph(fullName, nameFont);
-                        namePara.setAlignment(Element.ALIGN_CENTER);
-                        namePara.setSpacingAfter(5);
-                        document.add(namePara);
-                    }
-                }
-                
-                Paragraph contactInfo = new Paragraph();
-                contactInfo.setAlignment(Element.ALIGN_CENTER);
-                
-                String email = personalInfo.optString("email", "");
-                String phone = personalInfo.optString("phone", "");
-                if (!email.isEmpty()) {
-                    contactInfo.add(new Chunk(email, NORMAL_FONT));
-                    if (!phone.isEmpty()) {
-                        contactInfo.add(new Chunk(" • ", NORMAL_FONT));
-                        contactInfo.add(new Chunk(phone, NORMAL_FONT));
-                    }
-                    contactInfo.add(Chunk.NEWLINE);
-                } else if (!phone.isEmpty()) {
-                    contactInfo.add(new Chunk(phone, NORMAL_FONT));
-                    contactInfo.add(Chunk.NEWLINE);
-                }
-                
-                String address = personalInfo.optString("address", "");
-                if (!address.isEmpty()) {
-                    contactInfo.add(new Chunk(address, NORMAL_FONT));
+        // Parsed once when the resume was saved
+        PersonalInfo personalInfo = resumeDto.getPersonalDetails();
+        if (personalInfo != null && personalInfo.isStructured()) {
+            String fullName = personalInfo.getFullName();
+            if (!fullName.isEmpty()) {
+                Paragraph namePara = new Paragraph(fullName, template.getNameFont());
+                namePara.setAlignment(template.getHeaderAlignment());
+                namePara.setSpacingAfter(5);
+                document.add(namePara);
+            }
+            
+            Paragraph contactInfo = new Paragraph();
+            contactInfo.setAlignment(template.getHeaderAlignment());
+            
+            String email = nullToEmpty(personalInfo.getEmail());
+            String phone = nullToEmpty(personalInfo.getPhone());
+            if (!email.isEmpty()) {
+                contactInfo.add(new Chunk(email, normalFont));
+                if (!phone.isEmpty()) {
+                    contactInfo.add(new Chunk(" • ", normalFont));
+                    contactInfo.add(new Chunk(phone, normalFont));
                 }
-                
-                contactInfo.setSpacingAfter(10);
-                document.add(contactInfo);
-                
-            } catch (Exception e) {
-                document.add(new Paragraph("Contact Information", SECTION_FONT));
-                document.add(new Paragraph(personalInfoStr, NORMAL_FONT));
+                contactInfo.add(Chunk.NEWLINE);
+            } else if (!phone.isEmpty()) {
+                contactInfo.add(new Chunk(phone, normalFont));
+                contactInfo.add(Chunk.NEWLINE);
             }
+            
+            String address = nullToEmpty(personalInfo.getAddress());
+            if (!address.isEmpty()) {
+                contactInfo.add(new Chunk(address, normalFont));
+            }
+            
+            contactInfo.setSpacingAfter(10);
+            document.add(contactInfo);
         }
         
-        LineSeparator lineSeparator = new LineSeparator();
-        lineSeparator.setLineColor(CLASSIC_PRIMARY_COLOR);
-        lineSeparator.setLineWidth(1.5f);
-        document.add(new Chunk(lineSeparator));
+        document.add(new Chunk(template.getSeparator()));
         document.add(Chunk.NEWLINE);
         
-        try {
-            if (resumeDto.getPersonalInfo() != null && !resumeDto.getPersonalInfo().isEmpty()) {
-                document.add(new Paragraph("Personal Information", SECTION_FONT));
-                
-                if (personalInfoStr.trim().startsWith("{")) {
-                    try {
-                        Paragraph personalInfo = new Paragraph();
-                        personalInfo.setIndentationLeft(10);
-                        org.json.JSONObject jsonObj = new org.json.JSONObject(personalInfoStr);
-                        
-                        if (jsonObj.has("firstName")) {
-                            personalInfo.add(new Chunk("First Name: " + jsonObj.getString("firstName") + "\n", NORMAL_FONT));
-                        }
-                        
-                        if (jsonObj.has("lastName")) {
-                            personalInfo.add(new Chunk("Last Name: " + jsonObj.getString("lastName") + "\n", NORMAL_FONT));
-                        }
-                        
-                        if (jsonObj.has("email")) {
-                            personalInfo.add(new Chunk("Email: " + jsonObj.getString("email") + "\n", NORMAL_FONT));
-                        }
-                        
-                        if (jsonObj.has("phone")) {
-                            personalInfo.add(new Chunk("Phone: " + jsonObj.getString("phone") + "\n", NORMAL_FONT));
-                        }
-                        
-                        if (jsonObj.has("address")) {
-                            personalInfo.add(new Chunk("Address: " + jsonObj.getString("address") + "\n", NORMAL_FONT));
-                        }
-                        
-                        if (jsonObj.has("photo") && !jsonObj.getString("photo").isEmpty()) {
-                            personalInfo.add(new Chunk("Photo: [Included in digital version]\n", NORMAL_FONT));
-                        }
-                        
-                        document.add(personalInfo);
-                    } catch (Exception e) {
-                        document.add(new Paragraph(personalInfoStr, NORMAL_FONT));
-                    }
-                } else {
-                    document.add(new Paragraph(personalInfoStr, NORMAL_FONT));
+        if (personalInfo != null && !personalInfo.toText().isEmpty()) {
+            document.add(new Paragraph(template.getPersonalInfoHeading(), sectionFont));
+            
+            if (personalInfo.isStructured()) {
+                Paragraph details = new Paragraph();
+                details.setIndentationLeft(template.getBodyIndent());
+                addDetail(details, "First Name", personalInfo.getFirstName(), normalFont);
+                addDetail(details, "Last Name", personalInfo.getLastName(), normalFont);
+                addDetail(details, "Email", personalInfo.getEmail(), normalFont);
+                addDetail(details, "Phone", personalInfo.getPhone(), normalFont);
+                addDetail(details, "Address", personalInfo.getAddress(), normalFont);
+                if (personalInfo.getPhoto() != null && !personalInfo.getPhoto().isEmpty()) {
+                    details.add(new Chunk("Photo: [Included in digital version]\n", normalFont));
                 }
-                document.add(Chunk.NEWLINE);
+                document.add(details);
+            } else {
+                document.add(new Paragraph(personalInfo.getText(), normalFont));
             }
-        } catch (Exception e) {
-            document.add(new Paragraph("Personal Information", SECTION_FONT));
-            document.add(new Paragraph("Error processing personal information", ITALIC_FONT));
             document.add(Chunk.NEWLINE);
         }
         
         if (resumeDto.getSummary() != null && !resumeDto.getSummary().isEmpty()) {
-            document.add(new Paragraph("Professional Summary", SECTION_FONT));
-            Paragraph summary = new Paragraph(resumeDto.getSummary(), NORMAL_FONT);
+            document.add(new Paragraph(template.getSummaryHeading(), sectionFont));
+            Paragraph summary = new Paragraph(resumeDto.getSummary(), normalFont);
             summary.setAlignment(Element.ALIGN_JUSTIFIED);
-            summary.setIndentationLeft(10);
+            summary.setIndentationLeft(template.getBodyIndent());
             summary.setSpacingAfter(15);
             document.add(summary);
         }
         if (resumeDto.getExperiences() != null && !resumeDto.getExperiences().isEmpty()) {
-            document.add(new Paragraph("Work Experience", SECTION_FONT));
+            document.add(new Paragraph(template.getExperienceHeading(), sectionFont));
             
             for (ExperienceDto experience : resumeDto.getExperiences()) {
                 try {
                     Paragraph positionCompany = new Paragraph();
-                    positionCompany.add(new Chunk(experience.getPosition() + " - " + experience.getCompany(), SUBSECTION_FONT));
+                    positionCompany.add(new Chunk(experience.getPosition() + " - " + experience.getCompany(), template.getSubsectionFont()));
                     document.add(positionCompany);
                     
                     Paragraph details = new Paragraph();
                     if (experience.getLocation() != null && !experience.getLocation().isEmpty()) {
-                        details.add(new Chunk(experience.getLocation(), ITALIC_FONT));
-                        details.add(new Chunk(" | ", ITALIC_FONT));
+                        details.add(new Chunk(experience.getLocation(), italicFont));
+                        details.add(new Chunk(" | ", italicFont));
                     }
                     
                     String startDate = formatDate(experience.getStartDate());                    String endDate = Boolean.TRUE.equals(experience.getIsCurrent()) ? 
                                     "По теперішній час" : formatDate(experience.getEndDate());
-                    details.add(new Chunk(startDate + " - " + endDate, ITALIC_FONT));
+                    details.add(new Chunk(startDate + " - " + endDate, italicFont));
                     document.add(details);
                     
                     if (experience.getDescription() != null && !experience.getDescription().isEmpty()) {
-                        Paragraph desc = new Paragraph(experience.getDescription(), NORMAL_FONT);
+                        Paragraph desc = new Paragraph(experience.getDescription(), normalFont);
                         desc.setSpacingBefore(5);
                         document.add(desc);
                     }
@@ -186,7 +228,7 @@ public class PdfService {
             }
         }
         if (resumeDto.getEducations() != null && !resumeDto.getEducations().isEmpty()) {
-            document.add(new Paragraph("Education", SECTION_FONT));
+            document.add(new Paragraph(template.getEducationHeading(), sectionFont));
             
             for (EducationDto education : resumeDto.getEducations()) {
                 try {                  
@@ -198,24 +240,24 @@ public class PdfService {
                         if (education.getFieldOfStudy() != null && !education.getFieldOfStudy().isEmpty()) {
                             degreeText += " in " + education.getFieldOfStudy();
                         }
-                        institutionDegree.add(new Chunk(degreeText, SUBSECTION_FONT));
+                        institutionDegree.add(new Chunk(degreeText, template.getSubsectionFont()));
                     } else {
-                        institutionDegree.add(new Chunk(education.getInstitution(), SUBSECTION_FONT));
+                        institutionDegree.add(new Chunk(education.getInstitution(), template.getSubsectionFont()));
                     }
                     
                     document.add(institutionDegree);
                     
                     Paragraph institutionPara = new Paragraph();
-                    institutionPara.add(new Chunk(education.getInstitution(), ITALIC_FONT));
-                    institutionPara.add(new Chunk(" | ", ITALIC_FONT));
+                    institutionPara.add(new Chunk(education.getInstitution(), italicFont));
+                    institutionPara.add(new Chunk(" | ", italicFont));
                     
                     String startDate = formatDate(education.getStartDate());                    String endDate = education.getEndDate() != null ? 
                                     formatDate(education.getEndDate()) : "По теперішній час";
-                    institutionPara.add(new Chunk(startDate + " - " + endDate, ITALIC_FONT));
+                    institutionPara.add(new Chunk(startDate + " - " + endDate, italicFont));
                     document.add(institutionPara);
                     
                     if (education.getDescription() != null && !education.getDescription().isEmpty()) {
-                        Paragraph desc = new Paragraph(education.getDescription(), NORMAL_FONT);
+                        Paragraph desc = new Paragraph(education.getDescription(), normalFont);
                         desc.setSpacingBefore(5);
                         document.add(desc);
                     }
@@ -227,10 +269,9 @@ public class PdfService {
         }
         
         if (resumeDto.getSkills() != null && !resumeDto.getSkills().isEmpty()) {
-            document.add(new Paragraph("Skills", SECTION_FONT));
+            document.add(new Paragraph(template.getSkillsHeading(), sectionFont));
             
-            float[] columnWidths = {1f};
-            PdfPTable skillsTable = new PdfPTable(columnWidths);
+            PdfPTable skillsTable = new PdfPTable(template.getSkillColumnWidths());
             skillsTable.setWidthPercentage(100);
             skillsTable.getDefaultCell().setBorder(PdfPCell.NO_BORDER);
             skillsTable.getDefaultCell().setPadding(0);
@@ -240,7 +281,7 @@ public class PdfService {
             skillsCell.setPadding(5);
             
             Paragraph skillsPara = new Paragraph();
-            skillsPara.setIndentationLeft(10);
+            skillsPara.setIndentationLeft(template.getBodyIndent());
             
             int index = 0;
             for (Object skillObj : resumeDto.getSkills()) {
@@ -265,16 +306,16 @@ public class PdfService {
                     skillText += " (" + proficiencyLevel.toLowerCase() + ")";
                 }
                 
-                Chunk skillChunk = new Chunk(" " + skillText + " ", NORMAL_FONT);
+                Chunk skillChunk = new Chunk(" " + skillText + " ", normalFont);
                 skillsPara.add(skillChunk);
                 
                 if (index < resumeDto.getSkills().size() - 1) {
-                    skillsPara.add(new Chunk("   ", NORMAL_FONT));
+                    skillsPara.add(new Chunk("   ", normalFont));
                 }
                 
-                if ((index + 1) % 3 == 0 && index < resumeDto.getSkills().size() - 1) {
+                if ((index + 1) % template.getSkillsPerRow() == 0 && index < resumeDto.getSkills().size() - 1) {
                     skillsPara.add(Chunk.NEWLINE);
-                    skillsPara.add(new Chunk(" ", NORMAL_FONT)); 
+                    skillsPara.add(new Chunk(" ", normalFont)); 
                 }
                 
                 index++;
@@ -285,10 +326,21 @@ public class PdfService {
             document.add(skillsTable);
         }
         
+        int pages = writer.getPageNumber();
         document.close();
-        return outputStream.toByteArray();
+        return pages;
     }
     
+    // Same rule as before the fields were typed: a key that was sent is listed, even when blank
+    private void addDetail(Paragraph paragraph, String label, String value, Font font) {
+        if (value != null) {
+            paragraph.add(new Chunk(label + ": " + value + "\n", font));
+        }
+    }
+    
+    private String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
     
     private String formatDate(String dateString) {
         if (dateString == null || dateString.isEmpty()) {
@@ -314,4 +366,50 @@ public class PdfService {
             return dateString;
         }
     }
+
+    /**
+     * Passes every byte through and keeps a copy for the render cache until the copy would exceed the limit
+     */
+    private static class CachingOutputStream extends FilterOutputStream {
+        private final int limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        private long written;
+
+        CachingOutputStream(OutputStream out, int limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            capture(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        private void capture(byte[] b, int off, int len) {
+            written += len;
+            if (copy == null) {
+                return;
+            }
+            if (copy.size() + len > limit) {
+                copy = null;
+            } else {
+                copy.write(b, off, len);
+            }
+        }
+
+        long bytesWritten() {
+            return written;
+        }
+
+        byte[] copiedBytes() {
+            return copy != null ? copy.toByteArray() : null;
+        }
+    }
 }
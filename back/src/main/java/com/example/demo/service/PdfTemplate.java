@@ -0,0 +1,217 @@
+package com.example.demo.service;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.pdf.draw.LineSeparator;
+
+import java.util.Locale;
+
+/**
+ * Styling and layout of one PDF template, built once by PdfTemplateRegistry and shared by every render.
+ * The iText objects held here are configured at construction and only read afterwards, which is what
+ * makes sharing them between concurrent renders safe.
+ */
+public final class PdfTemplate {
+
+    private final String name;
+    private final float margin;
+    private final int headerAlignment;
+    private final Font titleFont;
+    private final Font nameFont;
+    private final Font sectionFont;
+    private final Font subsectionFont;
+    private final Font normalFont;
+    private final Font italicFont;
+    private final LineSeparator separator;
+    private final float bodyIndent;
+    private final int skillsPerRow;
+    private final float[] skillColumnWidths;
+
+    private final String personalInfoHeading;
+    private final String summaryHeading;
+    private final String experienceHeading;
+    private final String educationHeading;
+    private final String skillsHeading;
+
+    private PdfTemplate(Builder builder) {
+        this.name = builder.name;
+        this.margin = builder.margin;
+        this.headerAlignment = builder.headerAlignment;
+        this.titleFont = new Font(builder.family, builder.titleSize, Font.BOLD, builder.primaryColor);
+        this.nameFont = new Font(builder.family, builder.titleSize - 6, Font.BOLD, builder.textColor);
+        this.sectionFont = new Font(builder.family, builder.sectionSize, Font.BOLD, builder.primaryColor);
+        this.subsectionFont = new Font(builder.family, builder.sectionSize - 4, Font.BOLD, builder.secondaryColor);
+        this.normalFont = new Font(builder.family, builder.bodySize, Font.NORMAL, builder.textColor);
+        this.italicFont = new Font(builder.family, builder.bodySize, Font.ITALIC, builder.textColor);
+        this.separator = new LineSeparator();
+        this.separator.setLineColor(builder.separatorColor != null ? builder.separatorColor : builder.primaryColor);
+        this.separator.setLineWidth(builder.separatorWidth);
+        this.bodyIndent = builder.bodyIndent;
+        this.skillsPerRow = builder.skillsPerRow;
+        this.skillColumnWidths = new float[] {1f};
+
+        this.personalInfoHeading = heading("Personal Information", builder.uppercaseHeadings);
+        this.summaryHeading = heading("Professional Summary", builder.uppercaseHeadings);
+        this.experienceHeading = heading("Work Experience", builder.uppercaseHeadings);
+        this.educationHeading = heading("Education", builder.uppercaseHeadings);
+        this.skillsHeading = heading("Skills", builder.uppercaseHeadings);
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    private static String heading(String text, boolean uppercase) {
+        return uppercase ? text.toUpperCase(Locale.ROOT) : text;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public float getMargin() {
+        return margin;
+    }
+
+    public int getHeaderAlignment() {
+        return headerAlignment;
+    }
+
+    public Font getTitleFont() {
+        return titleFont;
+    }
+
+    public Font getNameFont() {
+        return nameFont;
+    }
+
+    public Font getSectionFont() {
+        return sectionFont;
+    }
+
+    public Font getSubsectionFont() {
+        return subsectionFont;
+    }
+
+    public Font getNormalFont() {
+        return normalFont;
+    }
+
+    public Font getItalicFont() {
+        return italicFont;
+    }
+
+    public LineSeparator getSeparator() {
+        return separator;
+    }
+
+    public float getBodyIndent() {
+        return bodyIndent;
+    }
+
+    public int getSkillsPerRow() {
+        return skillsPerRow;
+    }
+
+    // PdfPTable copies the widths it is given, so the shared array is never modified
+    public float[] getSkillColumnWidths() {
+        return skillColumnWidths;
+    }
+
+    public String getPersonalInfoHeading() {
+        return personalInfoHeading;
+    }
+
+    public String getSummaryHeading() {
+        return summaryHeading;
+    }
+
+    public String getExperienceHeading() {
+        return experienceHeading;
+    }
+
+    public String getEducationHeading() {
+        return educationHeading;
+    }
+
+    public String getSkillsHeading() {
+        return skillsHeading;
+    }
+
+    public static final class Builder {
+        private final String name;
+        private Font.FontFamily family = Font.FontFamily.TIMES_ROMAN;
+        private BaseColor primaryColor = BaseColor.BLACK;
+        private BaseColor secondaryColor = BaseColor.DARK_GRAY;
+        private BaseColor textColor = BaseColor.BLACK;
+        private BaseColor separatorColor;
+        private float separatorWidth = 1.5f;
+        private float titleSize = 22;
+        private float sectionSize = 18;
+        private float bodySize = 12;
+        private float margin = 60;
+        private int headerAlignment = Element.ALIGN_CENTER;
+        private float bodyIndent = 10;
+        private int skillsPerRow = 3;
+        private boolean uppercaseHeadings;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder family(Font.FontFamily family) {
+            this.family = family;
+            return this;
+        }
+
+        public Builder colors(BaseColor primary, BaseColor secondary, BaseColor text) {
+            this.primaryColor = primary;
+            this.secondaryColor = secondary;
+            this.textColor = text;
+            return this;
+        }
+
+        public Builder separator(BaseColor color, float width) {
+            this.separatorColor = color;
+            this.separatorWidth = width;
+            return this;
+        }
+
+        public Builder sizes(float title, float section, float body) {
+            this.titleSize = title;
+            this.sectionSize = section;
+            this.bodySize = body;
+            return this;
+        }
+
+        public Builder margin(float margin) {
+            this.margin = margin;
+            return this;
+        }
+
+        public Builder headerAlignment(int headerAlignment) {
+            this.headerAlignment = headerAlignment;
+            return this;
+        }
+
+        public Builder bodyIndent(float bodyIndent) {
+            this.bodyIndent = bodyIndent;
+            return this;
+        }
+
+        public Builder skillsPerRow(int skillsPerRow) {
+            this.skillsPerRow = skillsPerRow;
+            return this;
+        }
+
+        public Builder uppercaseHeadings(boolean uppercaseHeadings) {
+            this.uppercaseHeadings = uppercaseHeadings;
+            return this;
+        }
+
+        public PdfTemplate build() {
+            return new PdfTemplate(this);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo.service;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PDF templates by templateName, matching the templates offered by the frontend.
+ * Adding a template means registering another descriptor here; PdfService only reads them.
+ */
+@Component
+public class PdfTemplateRegistry {
+
+    static final String DEFAULT_TEMPLATE = "classic";
+
+    private final Map<String, PdfTemplate> templates = new LinkedHashMap<>();
+
+    public PdfTemplateRegistry() {
+        register(PdfTemplate.builder("classic")
+                .colors(new BaseColor(44, 86, 134), BaseColor.DARK_GRAY, BaseColor.BLACK)
+                .build());
+        register(PdfTemplate.builder("modern")
+                .family(Font.FontFamily.HELVETICA)
+                .colors(new BaseColor(25, 118, 210), new BaseColor(96, 125, 139), new BaseColor(38, 50, 56))
+                .sizes(24, 15, 11)
+                .margin(50)
+                .headerAlignment(Element.ALIGN_LEFT)
+                .separator(new BaseColor(25, 118, 210), 3f)
+                .uppercaseHeadings(true)
+                .skillsPerRow(4)
+                .build());
+        register(PdfTemplate.builder("minimalist")
+                .family(Font.FontFamily.HELVETICA)
+                .colors(new BaseColor(17, 17, 17), new BaseColor(85, 85, 85), new BaseColor(17, 17, 17))
+                .sizes(20, 12, 10)
+                .margin(70)
+                .headerAlignment(Element.ALIGN_LEFT)
+                .separator(new BaseColor(200, 200, 200), 0.5f)
+                .bodyIndent(0)
+                .uppercaseHeadings(true)
+                .skillsPerRow(5)
+                .build());
+        register(PdfTemplate.builder("professional")
+                .colors(new BaseColor(44, 62, 80), new BaseColor(127, 140, 141), new BaseColor(51, 51, 51))
+                .sizes(22, 16, 11)
+                .margin(55)
+                .separator(new BaseColor(44, 62, 80), 2.5f)
+                .build());
+        register(PdfTemplate.builder("creative")
+                .family(Font.FontFamily.HELVETICA)
+                .colors(new BaseColor(171, 71, 188), new BaseColor(255, 112, 67), new BaseColor(62, 39, 35))
+                .sizes(26, 17, 11)
+                .margin(50)
+                .headerAlignment(Element.ALIGN_LEFT)
+                .separator(new BaseColor(255, 112, 67), 2f)
+                .skillsPerRow(4)
+                .build());
+    }
+
+    private void register(PdfTemplate template) {
+        templates.put(template.getName(), template);
+    }
+
+    /**
+     * The template for the given name, case-insensitively; unknown or missing names get the classic template
+     */
+    public PdfTemplate get(String templateName) {
+        PdfTemplate template = templates.get(normalize(templateName));
+        return template != null ? template : templates.get(DEFAULT_TEMPLATE);
+    }
+
+    /**
+     * The lookup form of a template name; names that differ only in case select the same template
+     */
+    static String normalize(String templateName) {
+        return templateName != null ? templateName.toLowerCase(Locale.ROOT) : DEFAULT_TEMPLATE;
+    }
+
+    public Set<String> names() {
+        return templates.keySet();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ResumePayload;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Serialized public resumes keyed by public URL, for GET /api/public/resumes/{url}.
+ * Loads are single-flight: concurrent misses for the same URL wait for the one load in progress, so a burst
+ * of traffic on a cold resume costs one database read. ResumeService invalidates entries after its writes
+ * commit; the TTL only bounds how long an entry missed by an out-of-band change can live.
+ */
+@Component
+public class PublicResumeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicResumeCache.class);
+
+    private final Cache<String, ResumePayload> payloads;
+    private final Map<String, CompletableFuture<Optional<ResumePayload>>> loads = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final long maxBytes;
+
+    public PublicResumeCache(@Value("${public-resume.cache.max-bytes:33554432}") long maxBytes,
+                             @Value("${public-resume.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.maxBytes = maxBytes;
+        this.payloads = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String url, ResumePayload payload) -> payload.getWeight())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        logger.info("Public resume cache initialized with max {} bytes, ttl {}s", maxBytes, ttlSeconds);
+    }
+
+    /**
+     * Whether the URL is cached, without counting as a hit or miss
+     */
+    public boolean isCached(String url) {
+        return payloads.policy().getIfPresentQuietly(url) != null;
+    }
+
+    /**
+     * Returns the cached payload, or loads it once for all concurrent callers. Missing resumes are not cached.
+     */
+    public Optional<ResumePayload> get(String url, Function<String, Optional<ResumePayload>> loader) {
+        ResumePayload cached = payloads.getIfPresent(url);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        CompletableFuture<Optional<ResumePayload>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<ResumePayload>> running = loads.putIfAbsent(url, load);
+        if (running != null) {
+            coalesced.incrementAndGet();
+            return await(running);
+        }
+
+        try {
+            Optional<ResumePayload> loaded = loader.apply(url);
+            // Stored only if no invalidation removed this load while it ran: it may have read the old state
+            loads.computeIfPresent(url, (key, current) -> {
+                if (current != load) {
+                    return current;
+                }
+                loaded.ifPresent(payload -> payloads.put(key, payload));
+                return null;
+            });
+            load.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            loads.remove(url, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidate(String url) {
+        if (url == null) {
+            return;
+        }
+        // Same lock as the store in get, so a load that started before the change cannot put its result back
+        loads.compute(url, (key, load) -> {
+            payloads.invalidate(key);
+            return null;
+        });
+    }
+
+    /**
+     * Invalidates once the current transaction commits, so a load running meanwhile cannot re-cache the old
+     * state after the entry was dropped. Without a transaction it invalidates right away.
+     */
+    public void invalidateAfterCommit(String url) {
+        if (url == null) {
+            return;
+        }
+        afterCommit(() -> invalidate(url));
+    }
+
+    public void invalidateAllAfterCommit() {
+        afterCommit(this::invalidateAll);
+    }
+
+    public void invalidateAll() {
+        loads.clear();
+        payloads.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = payloads.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", payloads.estimatedSize());
+        result.put("maxBytes", maxBytes);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("coalescedLoads", coalesced.get());
+        return result;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Optional<ResumePayload> await(CompletableFuture<Optional<ResumePayload>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
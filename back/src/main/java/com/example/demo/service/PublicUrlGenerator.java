@@ -0,0 +1,130 @@
+package com.example.demo.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out public resume URLs that are unique by construction, so assigning one needs no lookup.
+ * Each URL is a number from the public_url_seq sequence, taken in blocks of BLOCK_SIZE, shuffled by a keyed
+ * Feistel permutation over 46 bits and written as 8 base62 characters. The permutation is a bijection,
+ * so distinct numbers always give distinct URLs while consecutive ones look unrelated.
+ * The key is a secret, since it is all that is needed to invert the permutation and enumerate URLs,
+ * and must never change once URLs have been issued.
+ */
+@Component
+public class PublicUrlGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicUrlGenerator.class);
+
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final int LENGTH = 8;
+    private static final int HALF_BITS = 23;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    // 2^46 < 62^8, so every value fits in LENGTH characters
+    private static final long MAX_VALUE = 1L << (2 * HALF_BITS);
+    private static final int ROUNDS = 4;
+    // Matches INCREMENT BY, so every nextval reserves the numbers up to the next one
+    static final int BLOCK_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final long[] roundKeys = new long[ROUNDS];
+    // Refilling a block queries the database; a lock rather than synchronized keeps virtual threads unpinned
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long blockEnd;
+    private String nextValueSql;
+
+    public PublicUrlGenerator(@Value("${resume.public-url.key:}") String key) {
+        if (key == null || key.isBlank()) {
+            throw new IllegalStateException("resume.public-url.key is not set; provide a secret through PUBLIC_URL_KEY");
+        }
+        ByteBuffer digest = ByteBuffer.wrap(sha256(key));
+        for (int i = 0; i < ROUNDS; i++) {
+            roundKeys[i] = digest.getLong();
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS public_url_seq START WITH 1 INCREMENT BY " + BLOCK_SIZE);
+        nextValueSql = "PostgreSQL".equalsIgnoreCase(database)
+                ? "SELECT nextval('public_url_seq')"
+                : "SELECT NEXT VALUE FOR public_url_seq";
+    }
+
+    public String nextUrl() {
+        long value;
+        lock.lock();
+        try {
+            if (next >= blockEnd) {
+                Long start = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+                next = start;
+                blockEnd = start + BLOCK_SIZE;
+                logger.debug("Reserved public URL numbers {} to {}", start, blockEnd - 1);
+            }
+            value = next++;
+        } finally {
+            lock.unlock();
+        }
+        return format(value);
+    }
+
+    /**
+     * The URL of the given sequence number
+     */
+    String format(long value) {
+        if (value < 0 || value >= MAX_VALUE) {
+            throw new IllegalStateException("Public URL numbers exhausted at " + value);
+        }
+        long shuffled = permute(value);
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt((int) (shuffled % ALPHABET.length()));
+            shuffled /= ALPHABET.length();
+        }
+        return new String(chars);
+    }
+
+    private long permute(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (long roundKey : roundKeys) {
+            long mixed = left ^ (round(right, roundKey) & HALF_MASK);
+            left = right;
+            right = mixed;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    // Any function works here; this one mixes all input bits into the low half
+    private static long round(long half, long key) {
+        long x = (half ^ key) * 0x9E3779B97F4A7C15L;
+        x ^= x >>> 29;
+        x *= 0xBF58476D1CE4E5B9L;
+        return x ^ (x >>> 32);
+    }
+
+    private static byte[] sha256(String key) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ResumeDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams many resumes as one ZIP of PDFs. Resumes are read in id-ordered chunks and rendered in parallel;
+ * entries are written in completion order, and at most a fixed window of renders is in flight per export,
+ * so memory stays bounded by that window rather than by the number of resumes.
+ */
+@Service
+public class ResumeExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeExportService.class);
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    private PdfService pdfService;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    @Value("${pdf.export.chunk-size:200}")
+    private int chunkSize;
+
+    public ResumeExportService(@Value("${pdf.export.parallelism:0}") int parallelism) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "pdf-export-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Writes the ZIP to the stream: the resumes of one user, or with a null userId all public resumes
+     * or all resumes. Resumes that fail to render are listed in an errors.txt entry at the end.
+     */
+    public void exportZip(Long userId, boolean publicOnly, OutputStream outputStream) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        // PDF content streams are already deflated, so spend as little CPU as possible recompressing them
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        CompletionService<RenderedPdf> completion = new ExecutorCompletionService<>(executor);
+        Set<Future<RenderedPdf>> inFlight = new HashSet<>();
+        List<String> failures = new ArrayList<>();
+        int window = parallelism * 2;
+        int exported = 0;
+
+        try {
+            Long afterId = null;
+            List<ResumeDto> chunk;
+            do {
+                chunk = resumeService.getResumeChunkForExport(userId, publicOnly, afterId, chunkSize);
+                for (ResumeDto resume : chunk) {
+                    if (inFlight.size() >= window) {
+                        exported += writeNext(zip, completion, inFlight, failures);
+                    }
+                    inFlight.add(completion.submit(() -> render(resume)));
+                }
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).getId();
+                }
+            } while (chunk.size() == chunkSize);
+
+            while (!inFlight.isEmpty()) {
+                exported += writeNext(zip, completion, inFlight, failures);
+            }
+
+            if (!failures.isEmpty()) {
+                zip.putNextEntry(new ZipEntry("errors.txt"));
+                zip.write(String.join("\n", failures).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.flush();
+            logger.info("Exported {} resumes ({} failed) for user ID: {}, publicOnly: {}",
+                    exported, failures.size(), userId, publicOnly);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Resume export interrupted", e);
+        } finally {
+            // Client went away or the export failed: stop renders nobody will read
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int writeNext(ZipOutputStream zip, CompletionService<RenderedPdf> completion,
+                          Set<Future<RenderedPdf>> inFlight, List<String> failures)
+            throws InterruptedException, IOException {
+        Future<RenderedPdf> done = completion.take();
+        inFlight.remove(done);
+        RenderedPdf rendered;
+        try {
+            rendered = done.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Unexpected export failure", e.getCause());
+        }
+
+        if (rendered.pdf() == null) {
+            failures.add(rendered.resume().getId() + ": " + rendered.error());
+            return 0;
+        }
+        zip.putNextEntry(new ZipEntry(entryName(rendered.resume())));
+        zip.write(rendered.pdf());
+        zip.closeEntry();
+        return 1;
+    }
+
+    private RenderedPdf render(ResumeDto resume) {
+        try {
+            return new RenderedPdf(resume, pdfService.generateResumePdf(resume), null);
+        } catch (Exception e) {
+            logger.error("Error rendering resume ID: {} for export", resume.getId(), e);
+            return new RenderedPdf(resume, null, e.getMessage());
+        }
+    }
+
+    static String entryName(ResumeDto resume) {
+        String title = resume.getTitle() != null ? resume.getTitle() : "resume";
+        String safeTitle = title.replaceAll("[^A-Za-z0-9._-]+", "_");
+        if (safeTitle.length() > 80) {
+            safeTitle = safeTitle.substring(0, 80);
+        }
+        return resume.getId() + "-" + safeTitle + ".pdf";
+    }
+
+    private record RenderedPdf(ResumeDto resume, byte[] pdf, String error) {
+    }
+}
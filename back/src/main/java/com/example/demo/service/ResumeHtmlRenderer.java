@@ -0,0 +1,243 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EducationDto;
+import com.example.demo.dto.ExperienceDto;
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.SkillDto;
+import com.example.demo.model.PersonalInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Renders public resumes as standalone HTML pages. The Mustache templates under templates/resume are
+ * compiled once at startup, one per templateName, and rendered pages are cached by resume id and
+ * version, so a page is rendered again only after the resume changes. Each cached page keeps a gzip copy
+ * built at render time, so compressed responses cost no compression work either.
+ */
+@Service
+public class ResumeHtmlRenderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeHtmlRenderer.class);
+
+    static final String DEFAULT_TEMPLATE = "classic";
+
+    private static final Set<String> TEMPLATE_NAMES = Set.of("classic", "modern", "minimalist", "professional", "creative");
+
+    private static final int DESCRIPTION_LENGTH = 160;
+
+    private final Map<String, Template> templates = new HashMap<>();
+
+    private final Cache<String, Page> pages;
+    private final long maxBytes;
+    private final boolean gzipEnabled;
+    private final int gzipMinBytes;
+
+    public ResumeHtmlRenderer(@Value("${html.cache.max-bytes:16777216}") long maxBytes,
+                              @Value("${html.gzip.enabled:true}") boolean gzipEnabled,
+                              @Value("${html.gzip.min-bytes:1024}") int gzipMinBytes) {
+        this.maxBytes = maxBytes;
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinBytes = gzipMinBytes;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Page page) -> page.getWeight())
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    public void init() {
+        Mustache.Compiler compiler = Mustache.compiler()
+                .defaultValue("")
+                .emptyStringIsFalse(true)
+                .withLoader(this::templateReader);
+        for (String name : TEMPLATE_NAMES) {
+            try (Reader reader = templateReader(name)) {
+                templates.put(name, compiler.compile(reader));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot load resume template " + name, e);
+            }
+        }
+        logger.info("Compiled {} resume HTML templates", templates.size());
+    }
+
+    /**
+     * Returns the page of the given resume version, rendering it from the loader on a cache miss.
+     * Returns null when the loader finds no resume.
+     */
+    public Page render(Long resumeId, Long version, Supplier<ResumeDto> loader) {
+        // Loaded outside the cache so the query does not run under a map lock (virtual-thread pinning)
+        String key = resumeId + ":" + version;
+        Page page = pages.getIfPresent(key);
+        if (page != null) {
+            return page;
+        }
+        ResumeDto resume = loader.get();
+        if (resume == null) {
+            return null;
+        }
+        byte[] html = renderHtml(resume);
+        page = new Page(html, gzipEnabled && html.length >= gzipMinBytes ? Gzip.compress(html) : null);
+        pages.put(key, page);
+        return page;
+    }
+
+    byte[] renderHtml(ResumeDto resume) {
+        String templateName = resume.getTemplateName() != null
+                ? resume.getTemplateName().toLowerCase(Locale.ROOT) : DEFAULT_TEMPLATE;
+        Template template = templates.getOrDefault(templateName, templates.get(DEFAULT_TEMPLATE));
+        return template.execute(model(resume)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public void invalidateAll() {
+        pages.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = pages.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", pages.estimatedSize());
+        result.put("maxBytes", maxBytes);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+
+    /**
+     * A rendered page and its gzip copy, which is null for pages below html.gzip.min-bytes
+     */
+    public static final class Page {
+
+        private final byte[] html;
+        private final byte[] gzip;
+
+        Page(byte[] html, byte[] gzip) {
+            this.html = html;
+            this.gzip = gzip;
+        }
+
+        public byte[] getHtml() {
+            return html;
+        }
+
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        int getWeight() {
+            return html.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    private Map<String, Object> model(ResumeDto resume) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("title", resume.getTitle());
+        model.put("summary", resume.getSummary());
+        model.put("description", excerpt(resume.getSummary()));
+
+        List<String> personalInfo = new ArrayList<>();
+        PersonalInfo details = resume.getPersonalDetails();
+        if (details != null) {
+            if (details.isStructured() && !details.getFullName().isEmpty()) {
+                personalInfo.add(details.getFullName());
+            }
+            personalInfo.addAll(details.getContactLines());
+        }
+        model.put("personalInfoLines", personalInfo);
+        model.put("hasPersonalInfo", !personalInfo.isEmpty());
+
+        // Newest first; dates are ISO strings, so they sort lexically
+        List<Map<String, Object>> experiences = resume.getExperiences().stream()
+                .sorted(Comparator.comparing(ExperienceDto::getStartDate, Comparator.nullsLast(Comparator.reverseOrder())))
+                .map(this::experience)
+                .collect(Collectors.toList());
+        model.put("experiences", experiences);
+        model.put("hasExperiences", !experiences.isEmpty());
+
+        List<Map<String, Object>> educations = resume.getEducations().stream()
+                .sorted(Comparator.comparing(EducationDto::getStartDate, Comparator.nullsLast(Comparator.reverseOrder())))
+                .map(this::education)
+                .collect(Collectors.toList());
+        model.put("educations", educations);
+        model.put("hasEducations", !educations.isEmpty());
+
+        List<Map<String, Object>> skills = resume.getSkills().stream()
+                .sorted(Comparator.comparing(SkillDto::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+                .map(this::skill)
+                .collect(Collectors.toList());
+        model.put("skills", skills);
+        model.put("hasSkills", !skills.isEmpty());
+        return model;
+    }
+
+    private Map<String, Object> experience(ExperienceDto experience) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("position", experience.getPosition());
+        model.put("company", experience.getCompany());
+        model.put("startDate", experience.getStartDate());
+        model.put("period", Boolean.TRUE.equals(experience.getIsCurrent()) ? "present" : experience.getEndDate());
+        model.put("location", experience.getLocation());
+        model.put("description", experience.getDescription());
+        return model;
+    }
+
+    private Map<String, Object> education(EducationDto education) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("degree", education.getDegree());
+        model.put("fieldOfStudy", education.getFieldOfStudy());
+        model.put("institution", education.getInstitution());
+        model.put("startDate", education.getStartDate());
+        model.put("endDate", education.getEndDate());
+        model.put("description", education.getDescription());
+        return model;
+    }
+
+    private Map<String, Object> skill(SkillDto skill) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("name", skill.getName());
+        model.put("level", skill.getProficiencyLevel() != null
+                ? skill.getProficiencyLevel().toLowerCase(Locale.ROOT) : null);
+        return model;
+    }
+
+    private static String excerpt(String text) {
+        if (text == null) {
+            return null;
+        }
+        String singleLine = text.replaceAll("\\s+", " ").trim();
+        return singleLine.length() <= DESCRIPTION_LENGTH ? singleLine
+                : singleLine.substring(0, DESCRIPTION_LENGTH - 1) + "…";
+    }
+
+    private Reader templateReader(String name) throws IOException {
+        return new InputStreamReader(new ClassPathResource("templates/resume/" + name + ".mustache").getInputStream(),
+                StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.ResumeImportResult;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports resumes from a JSON array or newline-delimited JSON stream. Records are parsed one at a time
+ * and persisted in chunked transactions, so memory is bounded by the chunk size rather than the payload.
+ * A chunk that fails is retried record by record so one bad record does not reject its neighbours.
+ */
+@Service
+public class ResumeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeImportService.class);
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${resume.import.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${resume.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * Reads and imports every record of the stream. Records without a userId, or every record when
+     * keepUserIds is false, are assigned to ownerId. Parsing stops at the first malformed JSON,
+     * after importing the records read so far.
+     */
+    public ResumeImportResult importResumes(InputStream inputStream, Long ownerId, boolean keepUserIds) throws IOException {
+        ResumeImportResult result = new ResumeImportResult();
+        List<Integer> pendingIndexes = new ArrayList<>(chunkSize);
+        List<ResumeDto> pending = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    addError(result, index, "Expected a JSON object");
+                } else {
+                    JsonNode node = parser.readValueAsTree();
+                    try {
+                        ResumeDto resumeDto = objectMapper.treeToValue(node, ResumeDto.class);
+                        if (!keepUserIds || resumeDto.getUserId() == null) {
+                            resumeDto.setUserId(ownerId);
+                        }
+                        if (resumeDto.getTitle() == null || resumeDto.getTitle().isBlank()) {
+                            addError(result, index, "Title is required");
+                        } else {
+                            pendingIndexes.add(index);
+                            pending.add(resumeDto);
+                        }
+                    } catch (JsonProcessingException e) {
+                        addError(result, index, "Invalid record: " + e.getOriginalMessage());
+                    }
+                }
+                index++;
+                if (pending.size() >= chunkSize) {
+                    persist(pending, pendingIndexes, result);
+                }
+                token = parser.nextToken();
+            }
+        } catch (StreamReadException e) {
+            logger.warn("Stopping resume import at record {}: {}", index, e.getOriginalMessage());
+            addError(result, index, "Malformed JSON: " + e.getOriginalMessage());
+            index++;
+        }
+        persist(pending, pendingIndexes, result);
+
+        result.setReceived(index);
+        logger.info("Resume import finished: {} received, {} imported, {} failed",
+                result.getReceived(), result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void persist(List<ResumeDto> pending, List<Integer> pendingIndexes, ResumeImportResult result) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            resumeService.importResumes(pending);
+            result.setImported(result.getImported() + pending.size());
+        } catch (RuntimeException chunkError) {
+            if (pending.size() == 1) {
+                addError(result, pendingIndexes.get(0), NestedExceptionUtils.getMostSpecificCause(chunkError).getMessage());
+                pending.clear();
+                pendingIndexes.clear();
+                return;
+            }
+            logger.warn("Import chunk of {} resumes failed, retrying one by one: {}",
+                    pending.size(), NestedExceptionUtils.getMostSpecificCause(chunkError).getMessage());
+            for (int i = 0; i < pending.size(); i++) {
+                try {
+                    resumeService.importResumes(List.of(pending.get(i)));
+                    result.setImported(result.getImported() + 1);
+                } catch (RuntimeException e) {
+                    addError(result, pendingIndexes.get(i), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+        }
+        pending.clear();
+        pendingIndexes.clear();
+    }
+
+    private void addError(ResumeImportResult result, int index, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ResumeImportResult.RecordError(index, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+}
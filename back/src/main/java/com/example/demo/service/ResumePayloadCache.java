@@ -0,0 +1,101 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.ResumePayload;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Jackson-serialized resumes, plus an optional gzip copy, keyed by id and version. A version is immutable,
+ * so an unchanged resume is converted and serialized once instead of on every read; edits bump the
+ * version and simply stop hitting the old entry. A max-bytes of 0 turns caching off but keeps serializing
+ * through here, so responses look the same either way.
+ */
+@Component
+public class ResumePayloadCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumePayloadCache.class);
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, ResumePayload> payloads;
+    private final long maxBytes;
+    private final boolean gzipEnabled;
+    private final int gzipMinBytes;
+
+    public ResumePayloadCache(ObjectMapper objectMapper,
+                              @Value("${resume.payload.cache.max-bytes:33554432}") long maxBytes,
+                              @Value("${resume.payload.gzip.enabled:true}") boolean gzipEnabled,
+                              @Value("${resume.payload.gzip.min-bytes:1024}") int gzipMinBytes) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinBytes = gzipMinBytes;
+        this.payloads = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, ResumePayload payload) -> payload.getWeight())
+                .recordStats()
+                .build();
+        logger.info("Resume payload cache initialized with max {} bytes, gzip {}", maxBytes,
+                gzipEnabled ? "from " + gzipMinBytes + " bytes" : "off");
+    }
+
+    /**
+     * Returns the payload of the given resume version, serializing what the loader returns on a miss.
+     * The result is stored under the version actually loaded, which can be newer than the one asked for.
+     */
+    public Optional<ResumePayload> get(Long id, Long version, Supplier<Optional<ResumeDto>> loader) {
+        if (version != null) {
+            ResumePayload cached = payloads.getIfPresent(key(id, version));
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        Optional<ResumePayload> loaded = loader.get().map(this::serialize);
+        loaded.filter(payload -> payload.getVersion() != null && maxBytes > 0)
+                .ifPresent(payload -> payloads.put(key(payload.getId(), payload.getVersion()), payload));
+        return loaded;
+    }
+
+    public ResumePayload serialize(ResumeDto resume) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(resume);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize resume " + resume.getId(), e);
+        }
+        byte[] gzip = gzipEnabled && json.length >= gzipMinBytes ? Gzip.compress(json) : null;
+        return new ResumePayload(resume, json, gzip);
+    }
+
+    public void invalidateAll() {
+        payloads.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = payloads.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", payloads.estimatedSize());
+        result.put("maxBytes", maxBytes);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+
+    private static String key(Long id, Long version) {
+        return id + ":" + version;
+    }
+}
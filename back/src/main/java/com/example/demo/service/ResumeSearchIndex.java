@@ -0,0 +1,167 @@
+package com.example.demo.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * PostgreSQL full-text index over resumes. Each row carries a weighted tsvector built from the title,
+ * summary and the text of its experiences, educations and skills, kept current by ResumeService writes
+ * and searched through a partial GIN index on public resumes.
+ * On other databases (H2 in tests) the index is disabled and ResumeService falls back to substring matching.
+ */
+@Component
+public class ResumeSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeSearchIndex.class);
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    // Title and skills weigh most, then roles and employers, then schools and the summary, then descriptions
+    private static final String VECTOR_SQL =
+            "setweight(to_tsvector(CAST(? AS regconfig), coalesce(r.title, '')), 'A') || " +
+            "setweight(to_tsvector(CAST(? AS regconfig), coalesce((select string_agg(s.name, ' ') " +
+            "from skills s where s.resume_id = r.id), '')), 'A') || " +
+            "setweight(to_tsvector(CAST(? AS regconfig), coalesce((select string_agg(concat_ws(' ', e.position, e.company), ' ') " +
+            "from experience e where e.resume_id = r.id), '')), 'B') || " +
+            "setweight(to_tsvector(CAST(? AS regconfig), coalesce((select string_agg(concat_ws(' ', ed.institution, ed.degree), ' ') " +
+            "from education ed where ed.resume_id = r.id), '')), 'C') || " +
+            "setweight(to_tsvector(CAST(? AS regconfig), coalesce(r.summary, '')), 'C') || " +
+            "setweight(to_tsvector(CAST(? AS regconfig), coalesce((select string_agg(e.description, ' ') " +
+            "from experience e where e.resume_id = r.id), '')), 'D')";
+
+    // Ranking is limited to the first max-ranked-matches rows so very common terms stay cheap
+    private static final String SEARCH_SQL =
+            "select m.id, count(*) over () as total from (" +
+            "select id, search_vector from resumes " +
+            "where is_public = true and search_vector @@ websearch_to_tsquery(CAST(? AS regconfig), ?) limit ?) m " +
+            "order by ts_rank_cd(m.search_vector, websearch_to_tsquery(CAST(? AS regconfig), ?)) desc, m.id desc " +
+            "limit ? offset ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${search.enabled:true}")
+    private boolean searchEnabled;
+
+    @Value("${search.text-config:english}")
+    private String textConfig;
+
+    @Value("${search.max-ranked-matches:10000}")
+    private int maxRankedMatches;
+
+    private boolean enabled;
+
+    @PostConstruct
+    public void init() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        enabled = searchEnabled && "PostgreSQL".equalsIgnoreCase(database);
+        logger.info("Full-text resume search {} on {}", enabled ? "enabled" : "disabled", database);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxRankedMatches() {
+        return maxRankedMatches;
+    }
+
+    /**
+     * Adds the search_vector column and its GIN index if they do not exist yet.
+     * The column is not mapped on Resume, so Hibernate leaves it alone.
+     */
+    public void ensureSchema() {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE resumes ADD COLUMN IF NOT EXISTS search_vector tsvector");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_resumes_search_vector ON resumes " +
+                "USING GIN (search_vector) WHERE is_public = true");
+    }
+
+    /**
+     * Indexes rows that have no search vector yet, such as resumes created before the index existed
+     */
+    public void indexMissing() {
+        if (!enabled) {
+            return;
+        }
+        int total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update("UPDATE resumes r SET search_vector = " + VECTOR_SQL +
+                    " WHERE r.id IN (SELECT id FROM resumes WHERE search_vector IS NULL LIMIT " + BACKFILL_BATCH_SIZE + ")",
+                    vectorArguments());
+            total += updated;
+        } while (updated == BACKFILL_BATCH_SIZE);
+        if (total > 0) {
+            logger.info("Indexed {} resumes for full-text search", total);
+        }
+    }
+
+    /**
+     * Rebuilds the search vectors of the given resumes inside the caller's transaction.
+     * Pending entity changes are flushed first so the vector sees the new children.
+     */
+    public void refresh(Collection<Long> resumeIds) {
+        if (!enabled || resumeIds.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        Object[] arguments = vectorArguments();
+        jdbcTemplate.update("UPDATE resumes r SET search_vector = " + VECTOR_SQL + " WHERE r.id = ANY(?)", ps -> {
+            for (int i = 0; i < arguments.length; i++) {
+                ps.setObject(i + 1, arguments[i]);
+            }
+            ps.setArray(arguments.length + 1, ps.getConnection().createArrayOf("bigint", resumeIds.toArray()));
+        });
+    }
+
+    /**
+     * Ids of public resumes matching the query, best match first. The query uses web search syntax
+     * (quoted phrases, or, -exclusion); totalElements counts at most max-ranked-matches rows.
+     */
+    public Page<Long> search(String query, Pageable pageable) {
+        List<Long> ids = new ArrayList<>();
+        long[] total = {0};
+        jdbcTemplate.query(SEARCH_SQL, rs -> {
+            ids.add(rs.getLong("id"));
+            total[0] = rs.getLong("total");
+        }, textConfig, query, maxRankedMatches, textConfig, query, pageable.getPageSize(), pageable.getOffset());
+        if (ids.isEmpty() && pageable.getOffset() > 0) {
+            // Past the last page the window count is not available; report the capped count instead
+            return new PageImpl<>(ids, pageable, countMatches(query));
+        }
+        return new PageImpl<>(ids, pageable, total[0]);
+    }
+
+    private long countMatches(String query) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from (select 1 from resumes " +
+                "where is_public = true and search_vector @@ websearch_to_tsquery(CAST(? AS regconfig), ?) limit ?) m",
+                Long.class, textConfig, query, maxRankedMatches);
+        return count != null ? count : 0;
+    }
+
+    private Object[] vectorArguments() {
+        return new Object[] {textConfig, textConfig, textConfig, textConfig, textConfig, textConfig};
+    }
+}
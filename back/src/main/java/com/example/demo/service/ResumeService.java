@@ -5,26 +5,56 @@ import com.example.demo.dto.EducationDto;
 import com.example.demo.dto.ExperienceDto;
 import com.example.demo.dto.SkillDto;
 import com.example.demo.dto.DtoConverter;
+import com.example.demo.dto.PageResponse;
+import com.example.demo.dto.ResumeCursor;
+import com.example.demo.dto.ResumeStamp;
+import com.example.demo.dto.ResumeSummary;
 import com.example.demo.model.*;
 import com.example.demo.repository.ResumeRepository;
 import com.example.demo.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+// Every public method is timed as resume.service, tagged with the method name
 @Service
+@Timed(value = "resume.service", description = "ResumeService calls")
 public class ResumeService {
     
     private static final Logger logger = LoggerFactory.getLogger(ResumeService.class);
+    
+    private static final int FETCH_CHUNK_SIZE = 1000;
+    
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    
+    private static final int MAX_SKILL_FILTERS = 10;
+    
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "title", "id");
 
     @Autowired
     private ResumeRepository resumeRepository;
@@ -34,32 +64,286 @@ public class ResumeService {
     
     @Autowired
     private DtoConverter dtoConverter;
+    
+    @Autowired
+    private PdfRenderCache pdfRenderCache;
+
+    @Autowired
+    private ResumeSearchIndex searchIndex;
+
+    @Autowired
+    private SkillFacetService skillFacetService;
+
+    @Autowired
+    private PublicUrlGenerator publicUrlGenerator;
+
+    @Autowired
+    private PublicResumeCache publicResumeCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
+    @Transactional(readOnly = true)
     public List<ResumeDto> getAllResumes() {
         logger.debug("Getting all resumes");
-        return resumeRepository.findAll().stream()
-                .map(dtoConverter::convertToDto)
-                .collect(Collectors.toList());
+        return convertWithChildren(resumeRepository.findAllWithUser());
     }
 
+    @Transactional(readOnly = true)
     public List<ResumeDto> getResumesByUserId(Long userId) {
         logger.debug("Getting resumes for user ID: {}", userId);
-        return resumeRepository.findByUserId(userId).stream()
-                .map(dtoConverter::convertToDto)
-                .collect(Collectors.toList());
-    }    public Optional<ResumeDto> getResumeById(Long id) {
+        return convertWithChildren(resumeRepository.findWithUserByUserId(userId));
+    }
+
+    public Optional<ResumeDto> getResumeById(Long id) {
         logger.debug("Getting resume by ID: {}", id);
         return resumeRepository.findById(id)
                 .map(dtoConverter::convertToDto);
     }
     
+    @Transactional(readOnly = true)
     public List<ResumeDto> getAllPublicResumes() {
         logger.debug("Getting all public resumes");
-        return resumeRepository.findByIsPublicTrue().stream()
+        return convertWithChildren(resumeRepository.findPublicWithUser());
+    }
+    
+    /**
+     * Paged listing of all resumes (or only public ones). With an "after" cursor the listing is
+     * keyset-paginated by createdAt desc, id desc; otherwise it is an offset page with optional sort.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<ResumeDto> listResumes(boolean publicOnly, Integer page, Integer size, String sort, String after) {
+        int pageSize = toPageSize(size);
+        if (after != null) {
+            if (page != null || sort != null) {
+                throw new IllegalArgumentException("after cannot be combined with page or sort");
+            }
+            ResumeCursor cursor = after.isBlank() ? null : ResumeCursor.parse(after);
+            return getResumesAfter(publicOnly, cursor, pageSize);
+        }
+        return getResumePage(publicOnly, toPageNumber(page), pageSize, sort);
+    }
+    
+    /**
+     * Next chunk of resumes in id order for bulk export: a user's resumes, all public ones or all of them.
+     * Each call is its own read transaction, so an export never pins a persistence context for its whole run.
+     */
+    @Transactional(readOnly = true)
+    public List<ResumeDto> getResumeChunkForExport(Long userId, boolean publicOnly, Long afterId, int limit) {
+        Pageable chunk = PageRequest.of(0, limit);
+        long from = afterId != null ? afterId : 0L;
+        List<Resume> rows;
+        if (userId != null) {
+            rows = resumeRepository.findExportChunkByUserId(userId, from, chunk);
+        } else if (publicOnly) {
+            rows = resumeRepository.findPublicExportChunk(from, chunk);
+        } else {
+            rows = resumeRepository.findExportChunk(from, chunk);
+        }
+        return convertWithChildren(rows);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ResumeSummary> getResumeSummariesByUserId(Long userId) {
+        logger.debug("Getting resume summaries for user ID: {}", userId);
+        return resumeRepository.findSummariesByUserId(userId);
+    }
+    
+    /**
+     * Summary listing of all resumes (or only public ones), unpaged when no paging parameter is given
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<ResumeSummary> listResumeSummaries(boolean publicOnly, Integer page, Integer size, String sort) {
+        Pageable pageable = page == null && size == null
+                ? Pageable.unpaged(toSort(sort))
+                : PageRequest.of(toPageNumber(page), toPageSize(size), toSort(sort));
+        logger.debug("Getting {} resume summaries with {}", publicOnly ? "public" : "all", pageable);
+        Page<ResumeSummary> result = publicOnly
+                ? resumeRepository.findPublicSummaryPage(pageable)
+                : resumeRepository.findSummaryPage(pageable);
+        return new PageResponse<>(result.getContent(),
+                pageable.isPaged() ? pageable.getPageNumber() : null,
+                pageable.isPaged() ? pageable.getPageSize() : result.getNumberOfElements(),
+                result.getTotalElements(), null);
+    }
+    
+    /**
+     * Full-text search over public resumes, best match first. Without the PostgreSQL index
+     * this falls back to unranked title and summary substring matching.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<ResumeSummary> searchPublicResumes(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("q must not be empty");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException("q must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        Pageable pageable = PageRequest.of(toPageNumber(page), toPageSize(size));
+        logger.debug("Searching public resumes for '{}' with {}", query, pageable);
+
+        if (!searchIndex.isEnabled()) {
+            String pattern = "%" + query.trim().toLowerCase() + "%";
+            Page<ResumeSummary> result = resumeRepository.searchPublicSummaries(pattern, pageable);
+            return new PageResponse<>(result.getContent(), pageable.getPageNumber(), pageable.getPageSize(),
+                    result.getTotalElements(), null);
+        }
+        if (pageable.getOffset() >= searchIndex.getMaxRankedMatches()) {
+            throw new IllegalArgumentException("page is beyond the first " + searchIndex.getMaxRankedMatches() + " matches");
+        }
+        Page<Long> hits = searchIndex.search(query, pageable);
+        // The projection query does not keep the ranking order, so restore it from the id page
+        Map<Long, ResumeSummary> summaries = hits.isEmpty() ? Map.of()
+                : resumeRepository.findSummariesByIdIn(hits.getContent()).stream()
+                        .collect(Collectors.toMap(ResumeSummary::getId, Function.identity()));
+        List<ResumeSummary> content = hits.getContent().stream()
+                .map(summaries::get)
+                .filter(summary -> summary != null)
+                .collect(Collectors.toList());
+        return new PageResponse<>(content, pageable.getPageNumber(), pageable.getPageSize(),
+                hits.getTotalElements(), null);
+    }
+    
+    /**
+     * Public resumes listing every one of the given skills, each at minProficiency or above when it is set
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<ResumeSummary> findPublicResumesBySkills(List<String> skills, String minProficiency,
+                                                                 Integer page, Integer size) {
+        Set<String> names = skills == null ? Set.of() : skills.stream()
+                .map(Skill::normalizeName)
+                .filter(name -> name != null && !name.isEmpty())
+                .collect(Collectors.toSet());
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("at least one skill is required");
+        }
+        if (names.size() > MAX_SKILL_FILTERS) {
+            throw new IllegalArgumentException("at most " + MAX_SKILL_FILTERS + " skills can be combined");
+        }
+        int minRank = 0;
+        if (minProficiency != null && !minProficiency.isBlank()) {
+            minRank = Skill.proficiencyRank(minProficiency);
+            if (minRank == 0) {
+                throw new IllegalArgumentException("unknown proficiency: " + minProficiency);
+            }
+        }
+        Pageable pageable = PageRequest.of(toPageNumber(page), toPageSize(size));
+        logger.debug("Getting public resumes with skills {} at rank {} with {}", names, minRank, pageable);
+        Page<ResumeSummary> result = resumeRepository.findPublicSummariesBySkills(names, minRank, names.size(), pageable);
+        return new PageResponse<>(result.getContent(), pageable.getPageNumber(), pageable.getPageSize(),
+                result.getTotalElements(), null);
+    }
+    
+    private PageResponse<ResumeDto> getResumePage(boolean publicOnly, int page, int size, String sort) {
+        logger.debug("Getting {} resumes page {} with size {} sorted by {}", publicOnly ? "public" : "all", page, size, sort);
+        Pageable pageable = PageRequest.of(page, size, toSort(sort));
+        Page<Resume> result = publicOnly
+                ? resumeRepository.findPublicPageWithUser(pageable)
+                : resumeRepository.findPageWithUser(pageable);
+        
+        // With the default ordering an offset page can hand over to keyset pagination
+        String nextCursor = null;
+        if (sort == null && result.hasNext() && !result.getContent().isEmpty()) {
+            Resume last = result.getContent().get(result.getContent().size() - 1);
+            if (last.getCreatedAt() != null) {
+                nextCursor = new ResumeCursor(last.getCreatedAt(), last.getId()).format();
+            }
+        }
+        return new PageResponse<>(convertWithChildren(result.getContent()), page, size,
+                result.getTotalElements(), nextCursor);
+    }
+    
+    private PageResponse<ResumeDto> getResumesAfter(boolean publicOnly, ResumeCursor cursor, int size) {
+        logger.debug("Getting {} resumes after cursor {} with size {}", publicOnly ? "public" : "all", cursor, size);
+        // Fetch one extra row to find out whether another page follows
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Resume> rows;
+        if (cursor == null) {
+            rows = publicOnly
+                    ? resumeRepository.findPublicFirstByKeyset(limit)
+                    : resumeRepository.findFirstByKeyset(limit);
+        } else {
+            rows = publicOnly
+                    ? resumeRepository.findPublicAfterKeyset(cursor.createdAt(), cursor.id(), limit)
+                    : resumeRepository.findAfterKeyset(cursor.createdAt(), cursor.id(), limit);
+        }
+        
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Resume last = rows.get(size - 1);
+            nextCursor = new ResumeCursor(last.getCreatedAt(), last.getId()).format();
+        }
+        return new PageResponse<>(convertWithChildren(rows), null, size, null, nextCursor);
+    }
+    
+    private int toPageSize(Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return pageSize;
+    }
+    
+    private int toPageNumber(Integer page) {
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        return pageNumber;
+    }
+    
+    private Sort toSort(String sort) {
+        Sort tieBreaker = Sort.by(Sort.Direction.DESC, "id");
+        if (sort == null || sort.isBlank()) {
+            return Sort.by(Sort.Direction.DESC, "createdAt").and(tieBreaker);
+        }
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Cannot sort by " + field + ", allowed: " + SORTABLE_FIELDS);
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromString(parts[1].trim())
+                : Sort.Direction.ASC;
+        Sort result = Sort.by(direction, field);
+        return "id".equals(field) ? result : result.and(tieBreaker);
+    }
+    
+    /**
+     * Converts a listing to DTOs after initializing the educations, experiences and skills
+     * of all resumes with one query per collection, instead of one lazy load per resume.
+     * Must run inside a transaction so the fetched collections land in the same persistence context.
+     */
+    private List<ResumeDto> convertWithChildren(List<Resume> resumes) {
+        List<Long> ids = resumes.stream()
+                .map(Resume::getId)
+                .collect(Collectors.toList());
+        for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + FETCH_CHUNK_SIZE, ids.size()));
+            resumeRepository.fetchEducations(chunk);
+            resumeRepository.fetchExperiences(chunk);
+            resumeRepository.fetchSkills(chunk);
+        }
+        return resumes.stream()
                 .map(dtoConverter::convertToDto)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Just enough of a resume to answer a conditional GET: no children, no conversion
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResumeStamp> getResumeStamp(Long id) {
+        return resumeRepository.findStampById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ResumeStamp> getPublicResumeStamp(String url) {
+        return resumeRepository.findPublicStampByUrl(url);
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<ResumeDto> getPublicResumeByUrl(String url) {
         logger.debug("Getting public resume with URL: {}", url);
         return resumeRepository.findByPublicUrlAndIsPublicTrue(url)
@@ -77,12 +361,17 @@ public class ResumeService {
         }
         
         if (resume.getPublicUrl() == null || resume.getPublicUrl().isEmpty()) {
-            String uniqueUrl = generateUniqueUrl();
+            String uniqueUrl = publicUrlGenerator.nextUrl();
             resume.setPublicUrl(uniqueUrl);
         }
         
+        Map<String, String> facetsBefore = skillFacetService.publicSkills(resume);
         resume.setIsPublic(true);
-        Resume savedResume = resumeRepository.save(resume);
+        resume.setUpdatedAt(LocalDateTime.now());
+        // Flushed so the returned DTO carries the incremented @Version the client has to send back
+        Resume savedResume = resumeRepository.saveAndFlush(resume);
+        skillFacetService.update(facetsBefore, skillFacetService.publicSkills(savedResume));
+        publicResumeCache.invalidateAfterCommit(savedResume.getPublicUrl());
         return dtoConverter.convertToDto(savedResume);
     }
     
@@ -96,59 +385,22 @@ public class ResumeService {
             throw new RuntimeException("User does not own this resume");
         }
         
+        Map<String, String> facetsBefore = skillFacetService.publicSkills(resume);
         resume.setIsPublic(false);
-        Resume savedResume = resumeRepository.save(resume);
+        resume.setUpdatedAt(LocalDateTime.now());
+        // Flushed so the returned DTO carries the incremented @Version the client has to send back
+        Resume savedResume = resumeRepository.saveAndFlush(resume);
+        skillFacetService.update(facetsBefore, skillFacetService.publicSkills(savedResume));
+        publicResumeCache.invalidateAfterCommit(savedResume.getPublicUrl());
         return dtoConverter.convertToDto(savedResume);
-    }
-      private String generateUniqueUrl() {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-        StringBuilder sb = new StringBuilder();
-        java.util.Random random = new java.util.Random();
-        
-        for (int i = 0; i < 8; i++) {
-            sb.append(chars.charAt(random.nextInt(chars.length())));
-        }
-        
-        String url = sb.toString();
-        
-        if (resumeRepository.findByPublicUrl(url).isPresent()) {
-            return generateUniqueUrl();
-        }
-        
-        return url;
     }
       @Transactional
     public ResumeDto createResume(ResumeDto resumeDto) {
         logger.info("Creating resume: {}", resumeDto.getTitle());
         try {
-            Resume resume = new Resume();
-            resume.setTitle(resumeDto.getTitle());
-            resume.setPersonalInfo(resumeDto.getPersonalInfo());
-            resume.setSummary(resumeDto.getSummary());
-            
-            if (resumeDto.getIsPublic() != null) {
-                resume.setIsPublic(resumeDto.getIsPublic());
-            } else {
-                resume.setIsPublic(false);
-            }
-            
-            if (resumeDto.getTemplateName() != null && !resumeDto.getTemplateName().isEmpty()) {
-                resume.setTemplateName(resumeDto.getTemplateName());
-            } else {
-                resume.setTemplateName("classic");
-            }
-            
-            if (Boolean.TRUE.equals(resume.getIsPublic()) && resumeDto.getPublicUrl() != null) {
-                resume.setPublicUrl(resumeDto.getPublicUrl());
-            } else if (Boolean.TRUE.equals(resume.getIsPublic())) {
-                resume.setPublicUrl(generateUniqueUrl());
-            }
-            
-            resume.setCreatedAt(LocalDateTime.now());
-            
             User user = userRepository.findById(resumeDto.getUserId())
                     .orElseThrow(() -> new RuntimeException("User not found with id: " + resumeDto.getUserId()));
-            resume.setUser(user);
+            Resume resume = newResume(resumeDto, user);
             
             logger.debug("Saving basic resume without collections");
             Resume savedResume = resumeRepository.saveAndFlush(resume);
@@ -165,16 +417,18 @@ public class ResumeService {
             }
             
             logger.debug("Processing educations collection");
-            processEducations(savedResume, resumeDto.getEducations());
+            syncEducations(savedResume, resumeDto.getEducations());
             
             logger.debug("Processing experiences collection");
-            processExperiences(savedResume, resumeDto.getExperiences());
+            syncExperiences(savedResume, resumeDto.getExperiences());
             
             logger.debug("Processing skills collection");
-            processSkills(savedResume, resumeDto.getSkills());
+            syncSkills(savedResume, resumeDto.getSkills());
             
             logger.debug("Saving resume with collections");
             savedResume = resumeRepository.save(savedResume);
+            skillFacetService.update(Map.of(), skillFacetService.publicSkills(savedResume));
+            searchIndex.refresh(List.of(savedResume.getId()));
             
             
             logger.debug("Converting to DTO and returning");
@@ -183,12 +437,85 @@ public class ResumeService {
             logger.error("Error creating resume", e);
             throw new RuntimeException("Failed to create resume: " + e.getMessage(), e);
         }
-    }    @Transactional
+    }
+
+    /**
+     * Persists a chunk of imported resumes in one transaction and returns their ids in input order.
+     * Child rows go out in JDBC batches, and the persistence context is cleared afterwards so a long
+     * import does not accumulate managed entities.
+     */
+    @Transactional
+    public List<Long> importResumes(List<ResumeDto> resumeDtos) {
+        Set<Long> userIds = resumeDtos.stream().map(ResumeDto::getUserId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Resume> resumes = new ArrayList<>(resumeDtos.size());
+        for (ResumeDto resumeDto : resumeDtos) {
+            User user = users.get(resumeDto.getUserId());
+            if (user == null) {
+                throw new RuntimeException("User not found with id: " + resumeDto.getUserId());
+            }
+            Resume resume = newResume(resumeDto, user);
+            syncEducations(resume, resumeDto.getEducations());
+            syncExperiences(resume, resumeDto.getExperiences());
+            syncSkills(resume, resumeDto.getSkills());
+            resumes.add(resumeRepository.save(resume));
+            skillFacetService.update(Map.of(), skillFacetService.publicSkills(resume));
+        }
+        entityManager.flush();
+        List<Long> ids = resumes.stream().map(Resume::getId).collect(Collectors.toList());
+        searchIndex.refresh(ids);
+        entityManager.clear();
+        logger.debug("Imported {} resumes", ids.size());
+        return ids;
+    }
+
+    private Resume newResume(ResumeDto resumeDto, User user) {
+        Resume resume = new Resume();
+        resume.setTitle(resumeDto.getTitle());
+        resume.setPersonalInfo(resumeDto.getPersonalInfo());
+        resume.setSummary(resumeDto.getSummary());
+        
+        if (resumeDto.getIsPublic() != null) {
+            resume.setIsPublic(resumeDto.getIsPublic());
+        } else {
+            resume.setIsPublic(false);
+        }
+        
+        if (resumeDto.getTemplateName() != null && !resumeDto.getTemplateName().isEmpty()) {
+            resume.setTemplateName(resumeDto.getTemplateName());
+        } else {
+            resume.setTemplateName("classic");
+        }
+        
+        if (Boolean.TRUE.equals(resume.getIsPublic()) && resumeDto.getPublicUrl() != null) {
+            resume.setPublicUrl(resumeDto.getPublicUrl());
+        } else if (Boolean.TRUE.equals(resume.getIsPublic())) {
+            resume.setPublicUrl(publicUrlGenerator.nextUrl());
+        }
+        
+        resume.setCreatedAt(LocalDateTime.now());
+        resume.setUpdatedAt(resume.getCreatedAt());
+        resume.setUser(user);
+        return resume;
+    }
+
+    @Transactional
     public Optional<ResumeDto> updateResume(Long id, ResumeDto resumeDto) {
         logger.info("Updating resume with ID: {}", id);
         try {
             return resumeRepository.findById(id)
                     .map(resume -> {
+                        // The client edited an older version: reject before touching anything. Clients send the
+                        // version they loaded (ResumeForm does); an update without one is not checked here
+                        if (resumeDto.getVersion() != null && !resumeDto.getVersion().equals(resume.getVersion())) {
+                            logger.info("Rejecting update of resume ID: {} based on version {} (current {})",
+                                    id, resumeDto.getVersion(), resume.getVersion());
+                            throw new ObjectOptimisticLockingFailureException(Resume.class, id);
+                        }
+                        Map<String, String> facetsBefore = skillFacetService.publicSkills(resume);
+                        publicResumeCache.invalidateAfterCommit(resume.getPublicUrl());
                         resume.setTitle(resumeDto.getTitle());
                         resume.setPersonalInfo(resumeDto.getPersonalInfo());
                         resume.setSummary(resumeDto.getSummary());
@@ -208,18 +535,19 @@ public class ResumeService {
                         } else if (Boolean.TRUE.equals(resume.getIsPublic()) && 
                                   (resume.getPublicUrl() == null || resume.getPublicUrl().isEmpty())) {
                             
-                            resume.setPublicUrl(generateUniqueUrl());
+                            resume.setPublicUrl(publicUrlGenerator.nextUrl());
                         }
                         
-                        resume.getEducations().clear();
-                        resume.getExperiences().clear();
-                        resume.getSkills().clear();
-                        
-                        processEducations(resume, resumeDto.getEducations());
-                        processExperiences(resume, resumeDto.getExperiences());
-                        processSkills(resume, resumeDto.getSkills());
+                        syncEducations(resume, resumeDto.getEducations());
+                        syncExperiences(resume, resumeDto.getExperiences());
+                        syncSkills(resume, resumeDto.getSkills());
+                        resume.setUpdatedAt(LocalDateTime.now());
                         
-                        Resume updatedResume = resumeRepository.save(resume);
+                        // Flushed so the returned DTO carries the incremented @Version the client has to send back
+                        Resume updatedResume = resumeRepository.saveAndFlush(resume);
+                        skillFacetService.update(facetsBefore, skillFacetService.publicSkills(updatedResume));
+                        searchIndex.refresh(List.of(id));
+                        pdfRenderCache.invalidate(id);
                         return dtoConverter.convertToDto(updatedResume);
                     });
         } catch (Exception e) {
@@ -231,56 +559,93 @@ public class ResumeService {
     @Transactional
     public void deleteResume(Long id) {
         logger.info("Deleting resume with ID: {}", id);
+        resumeRepository.findById(id).ifPresent(resume -> {
+            skillFacetService.update(skillFacetService.publicSkills(resume), Map.of());
+            publicResumeCache.invalidateAfterCommit(resume.getPublicUrl());
+        });
         resumeRepository.deleteById(id);
+        pdfRenderCache.invalidate(id);
     }
     
-    private void processEducations(Resume resume, Set<EducationDto> educationDtos) {
+    /*
+     * Child collections are reconciled by id: rows whose id comes back are updated in place (Hibernate only
+     * writes the ones whose fields actually changed), rows without a known id are inserted, and rows missing
+     * from the DTO are removed through orphanRemoval. A null collection clears it, as before.
+     */
+
+    private void syncEducations(Resume resume, Set<EducationDto> educationDtos) {
+        Map<Long, Education> existing = byId(resume.getEducations(), Education::getId);
+        Set<Education> retained = new HashSet<>();
         if (educationDtos != null) {
-            Set<Education> educations = educationDtos.stream()
-                    .map(eduDto -> {
-                        Education education = new Education();
-                        education.setResume(resume);
-                        education.setInstitution(eduDto.getInstitution());
-                        education.setDegree(eduDto.getDegree());
-                        education.setFieldOfStudy(eduDto.getFieldOfStudy());
-                        education.setStartDate(eduDto.getStartDate());
-                        education.setEndDate(eduDto.getEndDate());
-                        education.setDescription(eduDto.getDescription());
-                        return education;
-                    }).collect(Collectors.toSet());
-            resume.getEducations().addAll(educations);
+            for (EducationDto eduDto : educationDtos) {
+                Education education = eduDto.getId() != null ? existing.get(eduDto.getId()) : null;
+                if (education == null) {
+                    education = new Education();
+                    education.setResume(resume);
+                }
+                education.setInstitution(eduDto.getInstitution());
+                education.setDegree(eduDto.getDegree());
+                education.setFieldOfStudy(eduDto.getFieldOfStudy());
+                education.setStartDate(eduDto.getStartDate());
+                education.setEndDate(eduDto.getEndDate());
+                education.setDescription(eduDto.getDescription());
+                retained.add(education);
+            }
         }
+        resume.getEducations().retainAll(retained);
+        resume.getEducations().addAll(retained);
     }
     
-    private void processExperiences(Resume resume, Set<ExperienceDto> experienceDtos) {
+    private void syncExperiences(Resume resume, Set<ExperienceDto> experienceDtos) {
+        Map<Long, Experience> existing = byId(resume.getExperiences(), Experience::getId);
+        Set<Experience> retained = new HashSet<>();
         if (experienceDtos != null) {
-            Set<Experience> experiences = experienceDtos.stream()
-                    .map(expDto -> {
-                        Experience experience = new Experience();
-                        experience.setResume(resume);
-                        experience.setCompany(expDto.getCompany());
-                        experience.setPosition(expDto.getPosition());
-                        experience.setStartDate(expDto.getStartDate());
-                        experience.setEndDate(expDto.getEndDate());
-                        experience.setIsCurrent(expDto.getIsCurrent());
-                        experience.setDescription(expDto.getDescription());
-                        experience.setLocation(expDto.getLocation());
-                        return experience;
-                    }).collect(Collectors.toSet());
-            resume.getExperiences().addAll(experiences);
+            for (ExperienceDto expDto : experienceDtos) {
+                Experience experience = expDto.getId() != null ? existing.get(expDto.getId()) : null;
+                if (experience == null) {
+                    experience = new Experience();
+                    experience.setResume(resume);
+                }
+                experience.setCompany(expDto.getCompany());
+                experience.setPosition(expDto.getPosition());
+                experience.setStartDate(expDto.getStartDate());
+                experience.setEndDate(expDto.getEndDate());
+                experience.setIsCurrent(expDto.getIsCurrent());
+                experience.setDescription(expDto.getDescription());
+                experience.setLocation(expDto.getLocation());
+                retained.add(experience);
+            }
         }
+        resume.getExperiences().retainAll(retained);
+        resume.getExperiences().addAll(retained);
     }
     
-    private void processSkills(Resume resume, Set<SkillDto> skillDtos) {
+    private void syncSkills(Resume resume, Set<SkillDto> skillDtos) {
+        Map<Long, Skill> existing = byId(resume.getSkills(), Skill::getId);
+        Set<Skill> retained = new HashSet<>();
         if (skillDtos != null) {
-            Set<Skill> skills = skillDtos.stream()
-                    .map(skillDto -> {
-                        Skill skill = new Skill();
-                        skill.setResume(resume);
-                        skill.setName(skillDto.getName());
-                        skill.setProficiencyLevel(skillDto.getProficiencyLevel());
-                        return skill;
-                    }).collect(Collectors.toSet());            resume.getSkills().addAll(skills);
+            for (SkillDto skillDto : skillDtos) {
+                Skill skill = skillDto.getId() != null ? existing.get(skillDto.getId()) : null;
+                if (skill == null) {
+                    skill = new Skill();
+                    skill.setResume(resume);
+                }
+                skill.setName(skillDto.getName());
+                skill.setProficiencyLevel(skillDto.getProficiencyLevel());
+                retained.add(skill);
+            }
+        }
+        resume.getSkills().retainAll(retained);
+        resume.getSkills().addAll(retained);
+    }
+
+    private static <T> Map<Long, T> byId(Set<T> children, Function<T, Long> idOf) {
+        Map<Long, T> result = new HashMap<>();
+        for (T child : children) {
+            if (idOf.apply(child) != null) {
+                result.put(idOf.apply(child), child);
+            }
         }
+        return result;
     }
 }
@@ -0,0 +1,116 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SkillCount;
+import com.example.demo.model.Resume;
+import com.example.demo.model.Skill;
+import com.example.demo.repository.SkillFacetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the skill_facets counts in step with resume writes. ResumeService takes a publicSkills snapshot
+ * of a resume before and after changing it, and update applies only the difference, so a save touches
+ * the counters of the skills that were actually added or removed.
+ */
+@Service
+public class SkillFacetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillFacetService.class);
+
+    private static final int MAX_FACETS = 100;
+
+    @Autowired
+    private SkillFacetRepository skillFacetRepository;
+
+    /**
+     * Normalized name to display name of the skills the resume contributes to facet counts:
+     * all of its skills while it is public, none while it is private
+     */
+    public Map<String, String> publicSkills(Resume resume) {
+        Map<String, String> skills = new HashMap<>();
+        if (!Boolean.TRUE.equals(resume.getIsPublic()) || resume.getSkills() == null) {
+            return skills;
+        }
+        for (Skill skill : resume.getSkills()) {
+            String normalized = Skill.normalizeName(skill.getName());
+            if (normalized != null && !normalized.isEmpty()) {
+                skills.putIfAbsent(normalized, skill.getName().trim());
+            }
+        }
+        return skills;
+    }
+
+    /**
+     * Applies the difference between two publicSkills snapshots of the same resume
+     */
+    @Transactional
+    public void update(Map<String, String> before, Map<String, String> after) {
+        Set<String> removed = new HashSet<>(before.keySet());
+        removed.removeAll(after.keySet());
+        Set<String> added = new HashSet<>(after.keySet());
+        added.removeAll(before.keySet());
+
+        if (!removed.isEmpty()) {
+            skillFacetRepository.adjustCounts(removed, -1);
+        }
+        if (!added.isEmpty()) {
+            List<String> existing = skillFacetRepository.findExistingNames(added);
+            if (!existing.isEmpty()) {
+                skillFacetRepository.adjustCounts(existing, 1);
+            }
+            for (String name : added) {
+                if (!existing.contains(name)) {
+                    skillFacetRepository.insertFacet(name, after.get(name));
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the public resumes of a user out of the counts before the user, and with it the resumes, is deleted
+     */
+    @Transactional
+    public void removeUserResumes(Long userId) {
+        for (Object[] row : skillFacetRepository.countPublicSkillsByUserId(userId)) {
+            skillFacetRepository.adjustCounts(List.of((String) row[0]), -((Number) row[1]).longValue());
+        }
+    }
+
+    /**
+     * Most common skills on public resumes, optionally limited to names starting with prefix
+     */
+    @Transactional(readOnly = true)
+    public List<SkillCount> topSkills(String prefix, Integer limit) {
+        int size = limit == null ? 20 : limit;
+        if (size < 1 || size > MAX_FACETS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_FACETS);
+        }
+        String normalizedPrefix = prefix == null ? "" : Skill.normalizeName(prefix)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return skillFacetRepository.findTop(normalizedPrefix + "%", PageRequest.of(0, size));
+    }
+
+    /**
+     * Recounts every facet from the skills table. Used once when the table is created empty.
+     */
+    @Transactional
+    public void rebuild() {
+        skillFacetRepository.deleteAllInBatch();
+        int facets = skillFacetRepository.insertRecount();
+        logger.info("Rebuilt {} skill facets", facets);
+    }
+
+    public boolean isEmpty() {
+        return skillFacetRepository.count() == 0;
+    }
+}
@@ -3,9 +3,11 @@ package com.example.demo.service;
 import com.example.demo.dto.UserDto;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.services.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +22,15 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private SkillFacetService skillFacetService;
+
+    @Autowired
+    private PublicResumeCache publicResumeCache;
+
     public List<UserDto> getAllUsers() {
         return userRepository.findAll().stream()
                 .map(this::convertToDto)
@@ -45,7 +56,9 @@ public class UserService {
     }
 
     public User save(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        principalCache.invalidateUser(savedUser.getId());
+        return savedUser;
     }
       public Optional<UserDto> updateUser(Long id, UserDto userDto) {
         return userRepository.findById(id).map(user -> {
@@ -76,7 +89,9 @@ public class UserService {
             // Update timestamp
             user.setUpdatedAt(java.time.LocalDateTime.now());
             
-            return convertToDto(userRepository.save(user));
+            User savedUser = userRepository.save(user);
+            principalCache.invalidateUser(id);
+            return convertToDto(savedUser);
         });
     }
     
@@ -87,12 +102,21 @@ public class UserService {
                 // Update to new password
                 user.setPassword(passwordEncoder.encode(newPassword));
                 userRepository.save(user);
+                principalCache.invalidateUser(id);
                 return true;
             }
             return false;
         }).orElse(false);
-    }    public void deleteUser(Long id) {
+    }
+
+    @Transactional
+    public void deleteUser(Long id) {
+        // The user's resumes go with it through the cascade, so take them out of the skill counts first
+        skillFacetService.removeUserResumes(id);
         userRepository.deleteById(id);
+        principalCache.invalidateUserAfterCommit(id);
+        // Rare enough that finding the user's public URLs is not worth a query
+        publicResumeCache.invalidateAllAfterCommit();
     }
     
     public Optional<UserDto> updateProfilePhoto(Long id, String photoUrl) {
@@ -0,0 +1,94 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.ResumeStamp;
+import com.example.demo.service.ResumeHtmlRenderer;
+import com.example.demo.service.ResumeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class PublicPageControllerTest {
+
+    @Mock
+    private ResumeService resumeService;
+
+    private PublicPageController publicPageController;
+
+    private ResumeStamp stamp;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        ResumeHtmlRenderer renderer = new ResumeHtmlRenderer(1024 * 1024, true, 0);
+        renderer.init();
+        publicPageController = new PublicPageController();
+        ReflectionTestUtils.setField(publicPageController, "resumeService", resumeService);
+        ReflectionTestUtils.setField(publicPageController, "resumeHtmlRenderer", renderer);
+        mockMvc = MockMvcBuilders.standaloneSetup(publicPageController).build();
+
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123456000);
+        stamp = new ResumeStamp() {
+            public Long getId() { return 5L; }
+            public Long getUserId() { return 1L; }
+            public LocalDateTime getCreatedAt() { return updatedAt.minusDays(1); }
+            public LocalDateTime getUpdatedAt() { return updatedAt; }
+            public Long getVersion() { return 0L; }
+        };
+        when(resumeService.getPublicResumeStamp("AbCdEf12")).thenReturn(Optional.of(stamp));
+
+        ResumeDto resume = new ResumeDto();
+        resume.setId(5L);
+        resume.setTitle("Public resume");
+        when(resumeService.getPublicResumeByUrl("AbCdEf12")).thenReturn(Optional.of(resume));
+    }
+
+    @Test
+    public void testPrecompressedPageIsSentWithItsOwnEtag() throws Exception {
+        mockMvc.perform(get("/r/AbCdEf12").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.ETAG, ConditionalRequests.gzipEtag(stamp.etag("html"))))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("public")));
+        mockMvc.perform(get("/r/AbCdEf12"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.ETAG, stamp.etag("html")))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+
+        verify(resumeService, times(1)).getPublicResumeByUrl("AbCdEf12");
+    }
+
+    @Test
+    public void testEitherEtagRevalidatesWithVary() throws Exception {
+        for (String etag : new String[] {stamp.etag("html"), ConditionalRequests.gzipEtag(stamp.etag("html"))}) {
+            mockMvc.perform(get("/r/AbCdEf12")
+                            .header(HttpHeaders.IF_NONE_MATCH, etag)
+                            .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().stringValues(HttpHeaders.ETAG, etag))
+                    .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+        }
+        verify(resumeService, never()).getPublicResumeByUrl(any());
+    }
+}
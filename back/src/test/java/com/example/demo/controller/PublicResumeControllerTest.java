@@ -0,0 +1,244 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.ResumeStamp;
+import com.example.demo.service.PdfRenderQueue;
+import com.example.demo.service.PublicResumeCache;
+import com.example.demo.service.ResumePayloadCache;
+import com.example.demo.service.ResumeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class PublicResumeControllerTest {
+
+    @Mock
+    private ResumeService resumeService;
+
+    @Mock
+    private PdfRenderQueue pdfRenderQueue;
+
+    @Spy
+    private PublicResumeCache publicResumeCache = new PublicResumeCache(1024 * 1024, 600);
+
+    @Spy
+    private ResumePayloadCache resumePayloadCache = new ResumePayloadCache(new ObjectMapper(), 1024 * 1024, true, 64);
+
+    @InjectMocks
+    private PublicResumeController publicResumeController;
+
+    private ResumeStamp stamp;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(publicResumeController).build();
+
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123456000);
+        stamp = new ResumeStamp() {
+            public Long getId() { return 5L; }
+            public Long getUserId() { return 1L; }
+            public LocalDateTime getCreatedAt() { return updatedAt.minusDays(1); }
+            public LocalDateTime getUpdatedAt() { return updatedAt; }
+            public Long getVersion() { return 0L; }
+        };
+        when(resumeService.getPublicResumeStamp("AbCdEf12")).thenReturn(Optional.of(stamp));
+
+        ResumeDto resume = new ResumeDto();
+        resume.setId(5L);
+        resume.setTitle("Public resume");
+        resume.setUserId(1L);
+        resume.setVersion(0L);
+        resume.setCreatedAt(updatedAt.minusDays(1).toString());
+        resume.setUpdatedAt(updatedAt.toString());
+        when(resumeService.getPublicResumeByUrl("AbCdEf12")).thenReturn(Optional.of(resume));
+    }
+
+    @Test
+    public void testFirstRequestGetsBodyWithValidators() {
+        ResponseEntity<byte[]> response = publicResumeController.getPublicResumeByUrl("AbCdEf12", request(null));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(stamp.etag("json"), response.getHeaders().getETag());
+        assertEquals(stamp.getLastModifiedMillis() / 1000 * 1000, response.getHeaders().getLastModified());
+        assertTrue(new String(response.getBody(), StandardCharsets.UTF_8).contains("\"title\":\"Public resume\""));
+    }
+
+    @Test
+    public void testCachedResumeIsServedWithoutDatabaseReads() {
+        publicResumeController.getPublicResumeByUrl("AbCdEf12", request(null));
+        ResponseEntity<byte[]> cached = publicResumeController.getPublicResumeByUrl("AbCdEf12", request(null));
+        ResponseEntity<byte[]> revalidated =
+                publicResumeController.getPublicResumeByUrl("AbCdEf12", request(stamp.etag("json")));
+
+        assertEquals(HttpStatus.OK, cached.getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        verify(resumeService, times(1)).getPublicResumeByUrl("AbCdEf12");
+        verify(resumeService, never()).getPublicResumeStamp(any());
+
+        publicResumeCache.invalidate("AbCdEf12");
+        publicResumeController.getPublicResumeByUrl("AbCdEf12", request(null));
+        verify(resumeService, times(2)).getPublicResumeByUrl("AbCdEf12");
+    }
+
+    @Test
+    public void testGzipCopyIsSentWhenAccepted() throws Exception {
+        ServletWebRequest gzipRequest = request(null);
+        ((MockHttpServletRequest) gzipRequest.getRequest()).addHeader(HttpHeaders.ACCEPT_ENCODING, "br;q=1, gzip;q=0.8");
+        ResponseEntity<byte[]> compressed = publicResumeController.getPublicResumeByUrl("AbCdEf12", gzipRequest);
+        ResponseEntity<byte[]> plain = publicResumeController.getPublicResumeByUrl("AbCdEf12", request(null));
+
+        assertEquals("gzip", compressed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(plain.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.getBody()))) {
+            assertArrayEquals(plain.getBody(), in.readAllBytes());
+        }
+        verify(resumeService, times(1)).getPublicResumeByUrl("AbCdEf12");
+    }
+
+    @Test
+    public void testGzipCopyHasItsOwnEtagAndEitherRevalidates() throws Exception {
+        String gzipEtag = ConditionalRequests.gzipEtag(stamp.etag("json"));
+        assertNotEquals(stamp.etag("json"), gzipEtag);
+
+        mockMvc.perform(get("/api/public/resumes/AbCdEf12").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.ETAG, gzipEtag));
+        mockMvc.perform(get("/api/public/resumes/AbCdEf12"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.ETAG, stamp.etag("json")));
+
+        for (String etag : new String[] {gzipEtag, stamp.etag("json")}) {
+            mockMvc.perform(get("/api/public/resumes/AbCdEf12")
+                            .header(HttpHeaders.IF_NONE_MATCH, etag)
+                            .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().stringValues(HttpHeaders.ETAG, etag))
+                    .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+        }
+        mockMvc.perform(get("/api/public/resumes/AbCdEf12")
+                        .header(HttpHeaders.IF_NONE_MATCH, ConditionalRequests.gzipEtag(stamp.etag("pdf"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testMatchingEtagAnswersNotModifiedWithoutLoadingResume() {
+        ResponseEntity<byte[]> response =
+                publicResumeController.getPublicResumeByUrl("AbCdEf12", request(stamp.etag("json")));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(resumeService, never()).getPublicResumeByUrl(any());
+    }
+
+    @Test
+    public void testIfModifiedSinceIsComparedInSeconds() throws Exception {
+        long lastModified = stamp.getLastModifiedMillis() / 1000 * 1000;
+
+        mockMvc.perform(get("/api/public/resumes/AbCdEf12").header(HttpHeaders.IF_MODIFIED_SINCE,
+                        DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(lastModified).atZone(ZoneOffset.UTC))))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, stamp.etag("json")))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, lastModified));
+        mockMvc.perform(get("/api/public/resumes/AbCdEf12").header(HttpHeaders.IF_MODIFIED_SINCE,
+                        DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(lastModified - 1000).atZone(ZoneOffset.UTC))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/public/resumes/AbCdEf12").header(HttpHeaders.IF_MODIFIED_SINCE, "not a date"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testPdfEtagDiffersFromJsonAndSkipsRendering() throws Exception {
+        when(pdfRenderQueue.render(any())).thenReturn(CompletableFuture.completedFuture(out -> out.write(1)));
+        ResponseEntity<StreamingResponseBody> stale =
+                publicResumeController.getPublicResumePdf("AbCdEf12", request(stamp.etag("json"))).get();
+        assertEquals(HttpStatus.OK, stale.getStatusCode());
+        verify(pdfRenderQueue, times(1)).render(any());
+
+        ResponseEntity<StreamingResponseBody> fresh =
+                publicResumeController.getPublicResumePdf("AbCdEf12", request(stamp.etag("pdf"))).get();
+        assertEquals(HttpStatus.NOT_MODIFIED, fresh.getStatusCode());
+        verify(pdfRenderQueue, times(1)).render(any());
+    }
+
+    @Test
+    public void testTimedOutPdfRenderAsksToRetry() throws Exception {
+        when(pdfRenderQueue.getRetryAfterSeconds()).thenReturn(5L);
+        when(pdfRenderQueue.render(any())).thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+
+        ResponseEntity<StreamingResponseBody> response =
+                publicResumeController.getPublicResumePdf("AbCdEf12", request(null)).get();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    public void testPdfStreamsAfterTheRenderHasStarted() throws Exception {
+        byte[] pdf = new byte[64 * 1024];
+        pdf[pdf.length - 1] = 7;
+        when(pdfRenderQueue.render(any())).thenReturn(CompletableFuture.completedFuture(out -> out.write(pdf)));
+
+        MvcResult rendering = mockMvc.perform(get("/api/public/resumes/AbCdEf12/pdf"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        MvcResult streaming = mockMvc.perform(asyncDispatch(rendering))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(streaming))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().string(HttpHeaders.ETAG, stamp.etag("pdf")))
+                .andExpect(content().bytes(pdf));
+    }
+
+    private ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/resumes/AbCdEf12");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
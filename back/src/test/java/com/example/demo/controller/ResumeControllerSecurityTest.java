@@ -0,0 +1,126 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.ResumeStamp;
+import com.example.demo.security.WebSecurityConfig;
+import com.example.demo.security.jwt.AuthEntryPointJwt;
+import com.example.demo.security.jwt.JwtUtils;
+import com.example.demo.security.services.UserDetailsImpl;
+import com.example.demo.security.services.UserDetailsServiceImpl;
+import com.example.demo.security.services.UserPrincipalCache;
+import com.example.demo.service.PdfRenderQueue;
+import com.example.demo.service.ResumeExportService;
+import com.example.demo.service.ResumeImportService;
+import com.example.demo.service.ResumePayloadCache;
+import com.example.demo.service.ResumeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs requests through the application's security filter chain, JWT filter included
+ */
+@WebMvcTest(ResumeController.class)
+@Import({WebSecurityConfig.class, AuthEntryPointJwt.class, JwtUtils.class})
+public class ResumeControllerSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @MockitoBean
+    private UserPrincipalCache principalCache;
+
+    @MockitoBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    @MockitoBean
+    private ResumeService resumeService;
+
+    @MockitoBean
+    private PdfRenderQueue pdfRenderQueue;
+
+    @MockitoBean
+    private ResumeExportService resumeExportService;
+
+    @MockitoBean
+    private ResumeImportService resumeImportService;
+
+    @MockitoBean
+    private ResumePayloadCache resumePayloadCache;
+
+    private UserDetailsImpl owner;
+
+    @BeforeEach
+    public void setup() {
+        owner = new UserDetailsImpl(1L, "owner", "owner@example.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(principalCache.loadUserByUsername("owner")).thenReturn(owner);
+
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 9, 30, 15);
+        ResumeStamp stamp = new ResumeStamp() {
+            public Long getId() { return 5L; }
+            public Long getUserId() { return 1L; }
+            public LocalDateTime getCreatedAt() { return updatedAt.minusDays(1); }
+            public LocalDateTime getUpdatedAt() { return updatedAt; }
+            public Long getVersion() { return 0L; }
+        };
+        ResumeDto resume = new ResumeDto();
+        resume.setId(5L);
+        resume.setUserId(1L);
+        resume.setTitle("Private resume");
+        when(resumeService.getResumeStamp(5L)).thenReturn(Optional.of(stamp));
+        when(resumeService.getResumeById(5L)).thenReturn(Optional.of(resume));
+    }
+
+    @Test
+    public void testOwnerDownloadsPrivatePdfAcrossAsyncDispatches() throws Exception {
+        byte[] pdf = "%PDF-1.4 private".getBytes();
+        when(pdfRenderQueue.render(any())).thenReturn(CompletableFuture.completedFuture(out -> out.write(pdf)));
+        String token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(owner, null, owner.getAuthorities()));
+
+        MvcResult rendering = mockMvc.perform(get("/api/resumes/5/pdf")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        // The dispatches that write the result carry no token of their own
+        MvcResult streaming = mockMvc.perform(asyncDispatch(rendering))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(streaming))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(content().bytes(pdf));
+    }
+
+    @Test
+    public void testPdfWithoutTokenIsRejectedBeforeRendering() throws Exception {
+        mockMvc.perform(get("/api/resumes/5/pdf"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(MockMvcResultMatchers.request().asyncNotStarted());
+    }
+}
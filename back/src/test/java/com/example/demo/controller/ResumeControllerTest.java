@@ -3,27 +3,36 @@ package com.example.demo.controller;
 import com.example.demo.dto.EducationDto;
 import com.example.demo.dto.ExperienceDto;
 import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.ResumeStamp;
 import com.example.demo.dto.SkillDto;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ResumePayloadCache;
 import com.example.demo.service.ResumeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
@@ -44,6 +53,9 @@ public class ResumeControllerTest {
     @Mock
     private SecurityContext securityContext;
 
+    @Spy
+    private ResumePayloadCache resumePayloadCache = new ResumePayloadCache(new ObjectMapper(), 1024 * 1024, false, 1024);
+
     @InjectMocks
     private ResumeController resumeController;
 
@@ -105,7 +117,7 @@ public class ResumeControllerTest {
         
         when(resumeService.getAllResumes()).thenReturn(mockResumes);
         
-        ResponseEntity<List<ResumeDto>> response = resumeController.getAllResumes();
+        ResponseEntity<?> response = resumeController.getAllResumes(null, null, null, null, null);
         
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(mockResumes, response.getBody());
@@ -120,7 +132,7 @@ public class ResumeControllerTest {
         
         when(resumeService.getResumesByUserId(userId)).thenReturn(mockResumes);
         
-        ResponseEntity<List<ResumeDto>> response = resumeController.getResumesByUserId(userId);
+        ResponseEntity<?> response = resumeController.getResumesByUserId(userId, null);
         
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(mockResumes, response.getBody());
@@ -128,26 +140,27 @@ public class ResumeControllerTest {
     }
 
     @Test
-    public void testGetResumeById() {
+    public void testGetResumeById() throws Exception {
         Long resumeId = 1L;
+        when(resumeService.getResumeStamp(resumeId)).thenReturn(Optional.of(stamp(resumeId, testUser.getId())));
         when(resumeService.getResumeById(resumeId)).thenReturn(Optional.of(testResumeDto));
         
-        ResponseEntity<ResumeDto> response = resumeController.getResumeById(resumeId);
+        ResponseEntity<byte[]> response = resumeController.getResumeById(resumeId, webRequest());
         
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(testResumeDto, response.getBody());
+        assertArrayEquals(new ObjectMapper().writeValueAsBytes(testResumeDto), response.getBody());
         verify(resumeService, times(1)).getResumeById(resumeId);
     }
 
     @Test
     public void testGetResumeById_NotFound() {
         Long resumeId = 999L;
-        when(resumeService.getResumeById(resumeId)).thenReturn(Optional.empty());
+        when(resumeService.getResumeStamp(resumeId)).thenReturn(Optional.empty());
         
-        ResponseEntity<ResumeDto> response = resumeController.getResumeById(resumeId);
+        ResponseEntity<byte[]> response = resumeController.getResumeById(resumeId, webRequest());
         
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        verify(resumeService, times(1)).getResumeById(resumeId);
+        verify(resumeService, times(1)).getResumeStamp(resumeId);
     }
 
     @Test
@@ -197,4 +210,19 @@ public class ResumeControllerTest {
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(resumeService, times(1)).deleteResume(resumeId);
     }
+
+    private ServletWebRequest webRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/resumes/1"), new MockHttpServletResponse());
+    }
+
+    private ResumeStamp stamp(Long id, Long userId) {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        return new ResumeStamp() {
+            public Long getId() { return id; }
+            public Long getUserId() { return userId; }
+            public LocalDateTime getCreatedAt() { return createdAt; }
+            public LocalDateTime getUpdatedAt() { return createdAt; }
+            public Long getVersion() { return 0L; }
+        };
+    }
 }
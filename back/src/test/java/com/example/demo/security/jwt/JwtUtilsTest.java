@@ -0,0 +1,69 @@
+package com.example.demo.security.jwt;
+
+import com.example.demo.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilsTest {
+
+    private static final String SECRET =
+            "c5903affba08f7378b8d1ea40c67c11a41cb6a3d2dcd77187ec1132535e1619f98716860fbfdd36e715b8826f33a34838f";
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @BeforeEach
+    public void setup() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", 100L);
+        jwtUtils.init();
+
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "testuser", "test@example.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @Test
+    public void testValidTokenIsParsedOnceThenServedFromCache() {
+        Optional<Claims> first = jwtUtils.validateAndGetClaims(token);
+        Optional<Claims> second = jwtUtils.validateAndGetClaims(token);
+
+        assertTrue(first.isPresent());
+        assertEquals("testuser", first.get().getSubject());
+        assertSame(first.get(), second.get());
+        assertEquals(1L, jwtUtils.verifiedTokenStats().get("hits"));
+    }
+
+    @Test
+    public void testTamperedTokenIsRejected() {
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertFalse(jwtUtils.validateJwtToken(tampered));
+        assertFalse(jwtUtils.validateJwtToken(null));
+        assertFalse(jwtUtils.validateJwtToken("not-a-token"));
+    }
+
+    @Test
+    public void testPrincipalIsRebuiltFromClaims() {
+        Claims claims = jwtUtils.validateAndGetClaims(token).orElseThrow();
+        UserDetailsImpl principal = jwtUtils.getPrincipalFromClaims(claims).orElseThrow();
+
+        assertEquals(1L, principal.getId());
+        assertEquals("testuser", principal.getUsername());
+        assertEquals("test@example.com", principal.getEmail());
+        assertEquals(List.of("ROLE_USER"),
+                principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+}
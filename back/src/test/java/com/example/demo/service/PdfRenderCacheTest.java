@@ -0,0 +1,82 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.SkillDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PdfRenderCacheTest {
+
+    private PdfRenderCache cache;
+
+    @BeforeEach
+    public void setup() {
+        cache = new PdfRenderCache(10, 10 * 1024);
+    }
+
+    @Test
+    public void testFingerprintIgnoresChildOrder() {
+        ResumeDto first = resume(1L, "classic");
+        first.setSkills(skills("Java", "Kubernetes"));
+        ResumeDto second = resume(1L, "classic");
+        second.setSkills(skills("Kubernetes", "Java"));
+
+        assertEquals(cache.fingerprint(first), cache.fingerprint(second));
+    }
+
+    @Test
+    public void testFingerprintChangesWithContentAndTemplate() {
+        ResumeDto original = resume(1L, "classic");
+        ResumeDto retitled = resume(1L, "classic");
+        retitled.setTitle("Another title");
+        ResumeDto modern = resume(1L, "modern");
+
+        assertNotEquals(cache.fingerprint(original), cache.fingerprint(retitled));
+        assertNotEquals(cache.fingerprint(original), cache.fingerprint(modern));
+    }
+
+    @Test
+    public void testTemplateNamesDifferingInCaseShareFingerprint() {
+        assertEquals(cache.fingerprint(resume(1L, "modern")), cache.fingerprint(resume(1L, "Modern")));
+        assertEquals(cache.fingerprint(resume(1L, "classic")), cache.fingerprint(resume(1L, null)));
+    }
+
+    @Test
+    public void testHitMissAndInvalidate() {
+        PdfRenderCache.RenderKey key = cache.keyFor(resume(1L, "classic"));
+
+        assertNull(cache.get(key));
+        cache.put(key, new byte[] {1, 2, 3});
+        assertArrayEquals(new byte[] {1, 2, 3}, cache.get(key));
+
+        cache.invalidate(1L);
+        assertNull(cache.get(key));
+
+        Map<String, Object> stats = cache.stats();
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(2L, stats.get("misses"));
+    }
+
+    private ResumeDto resume(Long id, String templateName) {
+        ResumeDto dto = new ResumeDto();
+        dto.setId(id);
+        dto.setTitle("Test Resume");
+        dto.setSummary("Summary");
+        dto.setTemplateName(templateName);
+        return dto;
+    }
+
+    private Set<SkillDto> skills(String... names) {
+        Set<SkillDto> skills = new LinkedHashSet<>();
+        for (String name : names) {
+            skills.add(new SkillDto(null, name, "Expert", 1L));
+        }
+        return skills;
+    }
+}
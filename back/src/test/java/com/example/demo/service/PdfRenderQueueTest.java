@@ -0,0 +1,202 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ResumeDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class PdfRenderQueueTest {
+
+    private PdfRenderQueue queue;
+    private PdfService pdfService;
+
+    @BeforeEach
+    public void setup() {
+        queue = new PdfRenderQueue(1, 1, 60, 1024 * 1024);
+        pdfService = mock(PdfService.class);
+        ReflectionTestUtils.setField(queue, "pdfService", pdfService);
+        ReflectionTestUtils.setField(queue, "syncViaPool", true);
+        ReflectionTestUtils.setField(queue, "syncTimeoutSeconds", 5L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        queue.shutdown();
+    }
+
+    @Test
+    public void testJobCompletesWithRenderedPdf() throws Exception {
+        when(pdfService.generateResumePdf(any(ResumeDto.class))).thenReturn(new byte[]{1, 2, 3});
+
+        PdfRenderJob job = queue.submit(resume(), 7L);
+        waitFor(job, PdfRenderJob.Status.DONE);
+
+        assertArrayEquals(new byte[]{1, 2, 3}, queue.getJob(job.getId()).orElseThrow().getResult());
+        assertEquals(7L, job.getOwnerId());
+    }
+
+    @Test
+    public void testFullQueueRejectsSubmissions() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(pdfService.generateResumePdf(any(ResumeDto.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new byte[0];
+        });
+
+        PdfRenderJob running = queue.submit(resume(), 1L);
+        waitFor(running, PdfRenderJob.Status.RUNNING);
+        PdfRenderJob queued = queue.submit(resume(), 1L);
+
+        assertTrue(queue.isSaturated());
+        assertThrows(RejectedExecutionException.class, () -> queue.submit(resume(), 1L));
+        assertEquals(PdfRenderJob.Status.QUEUED, queued.getStatus());
+
+        release.countDown();
+        waitFor(queued, PdfRenderJob.Status.DONE);
+        assertFalse(queue.isSaturated());
+    }
+
+    @Test
+    public void testSynchronousRenderRunsOnPool() throws Exception {
+        doAnswer(invocation -> {
+            assertTrue(Thread.currentThread().getName().startsWith("pdf-render-"));
+            invocation.<OutputStream>getArgument(1).write(42);
+            return null;
+        }).when(pdfService).generateResumePdf(any(ResumeDto.class), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        queue.render(resume()).get(5, TimeUnit.SECONDS).writeTo(out);
+
+        assertArrayEquals(new byte[]{42}, out.toByteArray());
+    }
+
+    @Test
+    public void testTimedOutRenderFailsItsNextWrite() throws Exception {
+        ReflectionTestUtils.setField(queue, "syncTimeoutSeconds", 1L);
+        CountDownLatch timedOut = new CountDownLatch(1);
+        AtomicReference<Exception> lateWrite = new AtomicReference<>();
+        doAnswer(invocation -> {
+            // Like iText, ignores the interrupt and keeps writing
+            timedOut.await(5, TimeUnit.SECONDS);
+            long stopBy = System.currentTimeMillis() + 5000;
+            try {
+                while (System.currentTimeMillis() < stopBy) {
+                    invocation.<OutputStream>getArgument(1).write(42);
+                    Thread.sleep(1);
+                }
+            } catch (IOException e) {
+                lateWrite.set(e);
+                throw e;
+            }
+            return null;
+        }).when(pdfService).generateResumePdf(any(ResumeDto.class), any());
+
+        CompletableFuture<PdfRenderQueue.RenderedPdf> pdf = queue.render(resume());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> pdf.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, failure.getCause());
+
+        timedOut.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (lateWrite.get() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotNull(lateWrite.get());
+    }
+
+    @Test
+    public void testLargeRenderStreamsThroughBoundedPipe() throws Exception {
+        int size = PdfRenderQueue.CHUNK_BYTES * PdfRenderQueue.PIPE_CHUNKS * 4 + 123;
+        CountDownLatch rendered = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            for (int i = 0; i < size; i++) {
+                out.write(i);
+            }
+            rendered.countDown();
+            return null;
+        }).when(pdfService).generateResumePdf(any(ResumeDto.class), any());
+
+        PdfRenderQueue.RenderedPdf pdf = queue.render(resume()).get(5, TimeUnit.SECONDS);
+        // The worker waits for the download instead of holding the document
+        assertFalse(rendered.await(200, TimeUnit.MILLISECONDS));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        pdf.writeTo(out);
+
+        assertTrue(rendered.await(5, TimeUnit.SECONDS));
+        byte[] bytes = out.toByteArray();
+        assertEquals(size, bytes.length);
+        assertEquals((byte) (size - 1), bytes[size - 1]);
+    }
+
+    @Test
+    public void testFailedDownloadStopsTheRender() throws Exception {
+        AtomicReference<Exception> workerFailure = new AtomicReference<>();
+        CountDownLatch stopped = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            try {
+                while (true) {
+                    out.write(new byte[PdfRenderQueue.CHUNK_BYTES]);
+                }
+            } catch (IOException e) {
+                workerFailure.set(e);
+                throw e;
+            } finally {
+                stopped.countDown();
+            }
+        }).when(pdfService).generateResumePdf(any(ResumeDto.class), any());
+
+        PdfRenderQueue.RenderedPdf pdf = queue.render(resume()).get(5, TimeUnit.SECONDS);
+        OutputStream brokenClient = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        assertThrows(IOException.class, () -> pdf.writeTo(brokenClient));
+        assertTrue(stopped.await(5, TimeUnit.SECONDS));
+        assertNotNull(workerFailure.get());
+    }
+
+    @Test
+    public void testRenderFailureBeforeFirstBytesFailsTheFuture() throws Exception {
+        doThrow(new IOException("broken template")).when(pdfService).generateResumePdf(any(ResumeDto.class), any());
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> queue.render(resume()).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, failure.getCause());
+    }
+
+    private ResumeDto resume() {
+        ResumeDto resume = new ResumeDto();
+        resume.setId(1L);
+        resume.setTitle("Engineer");
+        return resume;
+    }
+
+    private void waitFor(PdfRenderJob job, PdfRenderJob.Status status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (job.getStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(status, job.getStatus());
+    }
+}
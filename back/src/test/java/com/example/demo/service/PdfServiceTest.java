@@ -0,0 +1,110 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ResumeDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PdfServiceTest {
+
+    private PdfService pdfService;
+    private PdfRenderCache renderCache;
+
+    @BeforeEach
+    public void setup() {
+        pdfService = new PdfService();
+        renderCache = new PdfRenderCache(10, 10 * 1024 * 1024);
+        ReflectionTestUtils.setField(pdfService, "renderCache", renderCache);
+        ReflectionTestUtils.setField(pdfService, "templateRegistry", new PdfTemplateRegistry());
+        ReflectionTestUtils.setField(pdfService, "maxCachedPdfBytes", 1024 * 1024);
+    }
+
+    @Test
+    public void testStreamedPdfIsCachedAndLeavesStreamOpen() throws Exception {
+        ResumeDto resume = resume();
+        ClosingAwareStream first = new ClosingAwareStream();
+
+        pdfService.generateResumePdf(resume, first);
+
+        assertFalse(first.closed);
+        assertTrue(new String(first.toByteArray(), 0, 5).startsWith("%PDF"));
+        assertArrayEquals(first.toByteArray(), renderCache.get(renderCache.keyFor(resume)));
+
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        pdfService.generateResumePdf(resume, second);
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+        assertEquals(2L, renderCache.stats().get("hits"));
+    }
+
+    @Test
+    public void testPdfOverEntryLimitIsStreamedButNotCached() throws Exception {
+        ReflectionTestUtils.setField(pdfService, "maxCachedPdfBytes", 100);
+        ResumeDto resume = resume();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        pdfService.generateResumePdf(resume, out);
+
+        assertTrue(out.size() > 100);
+        assertNull(renderCache.get(renderCache.keyFor(resume)));
+    }
+
+    @Test
+    public void testRendersAreMeteredButCacheHitsAreNot() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(pdfService, "meterRegistry", registry);
+        ResumeDto resume = resume();
+
+        byte[] pdf = pdfService.generateResumePdf(resume);
+        pdfService.generateResumePdf(resume);
+
+        assertEquals(1L, registry.get("pdf.render").tag("template", "classic").timer().count());
+        assertEquals(1.0, registry.get("pdf.render.pages").summary().totalAmount());
+        assertEquals(pdf.length, registry.get("pdf.render.size").summary().totalAmount());
+    }
+
+    @Test
+    public void testEachTemplateRendersItsOwnDocument() throws Exception {
+        ResumeDto resume = resume();
+        resume.setTemplateName("classic");
+        byte[] classic = pdfService.generateResumePdf(resume);
+        resume.setTemplateName("MODERN");
+        byte[] modern = pdfService.generateResumePdf(resume);
+        resume.setTemplateName("no-such-template");
+        byte[] fallback = pdfService.generateResumePdf(resume);
+
+        assertTrue(new String(modern, 0, 5).startsWith("%PDF"));
+        // Times is only referenced by the serif templates; unknown names fall back to classic
+        assertTrue(contains(classic, "Times-Roman"));
+        assertFalse(contains(modern, "Times-Roman"));
+        assertTrue(contains(fallback, "Times-Roman"));
+    }
+
+    private static boolean contains(byte[] pdf, String text) {
+        return new String(pdf, java.nio.charset.StandardCharsets.ISO_8859_1).contains(text);
+    }
+
+    private ResumeDto resume() {
+        ResumeDto resume = new ResumeDto();
+        resume.setId(1L);
+        resume.setTitle("Engineer");
+        resume.setSummary("Builds things");
+        resume.setPersonalInfo("{\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"jane@example.com\"}");
+        return resume;
+    }
+
+    private static class ClosingAwareStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.ResumePayload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PublicResumeCacheTest {
+
+    private PublicResumeCache cache;
+    private ResumePayload payload;
+
+    @BeforeEach
+    public void setup() {
+        cache = new PublicResumeCache(1024 * 1024, 600);
+        ResumeDto resume = new ResumeDto();
+        resume.setId(1L);
+        resume.setUpdatedAt("2025-03-01T09:30:15.123456");
+        payload = new ResumePayload(resume, "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneLoad() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Optional<ResumePayload>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get("AbCdEf12", url -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return Optional.of(payload);
+                })));
+            }
+            // Release the load once every other caller is waiting on it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((Long) cache.stats().get("coalescedLoads") < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<Optional<ResumePayload>> result : results) {
+                assertSame(payload, result.get(10, TimeUnit.SECONDS).orElseThrow());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertTrue(cache.isCached("AbCdEf12"));
+    }
+
+    @Test
+    public void testLoadInvalidatedWhileRunningIsNotCached() {
+        Optional<ResumePayload> loaded = cache.get("AbCdEf12", url -> {
+            // A write commits while this load is reading the old state
+            cache.invalidate(url);
+            return Optional.of(payload);
+        });
+
+        assertSame(payload, loaded.orElseThrow());
+        assertFalse(cache.isCached("AbCdEf12"));
+    }
+
+    @Test
+    public void testMissingResumesAndFailedLoadsAreNotCached() {
+        assertTrue(cache.get("missing", url -> Optional.empty()).isEmpty());
+        assertFalse(cache.isCached("missing"));
+
+        assertThrows(IllegalStateException.class, () -> cache.get("broken", url -> {
+            throw new IllegalStateException("database down");
+        }));
+        assertSame(payload, cache.get("broken", url -> Optional.of(payload)).orElseThrow());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
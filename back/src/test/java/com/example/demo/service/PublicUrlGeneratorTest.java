@@ -0,0 +1,40 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PublicUrlGeneratorTest {
+
+    @Test
+    public void testSequenceNumbersMapToDistinctUrls() {
+        PublicUrlGenerator generator = new PublicUrlGenerator("test-key");
+        Set<String> urls = new HashSet<>();
+        for (long value = 1; value <= 200_000; value++) {
+            String url = generator.format(value);
+            assertTrue(url.matches("[A-Za-z0-9]{8}"), url);
+            assertTrue(urls.add(url), "duplicate URL " + url + " for " + value);
+        }
+        // Highest number the 46-bit permutation accepts still fits in 8 characters
+        assertEquals(8, generator.format((1L << 46) - 1).length());
+        assertThrows(IllegalStateException.class, () -> generator.format(1L << 46));
+    }
+
+    @Test
+    public void testUrlsDependOnTheKeyButNotOnTheInstance() {
+        assertEquals(new PublicUrlGenerator("test-key").format(42), new PublicUrlGenerator("test-key").format(42));
+        assertNotEquals(new PublicUrlGenerator("test-key").format(42), new PublicUrlGenerator("other-key").format(42));
+        // Consecutive numbers do not produce neighbouring URLs
+        assertNotEquals(new PublicUrlGenerator("test-key").format(42).substring(0, 6),
+                new PublicUrlGenerator("test-key").format(43).substring(0, 6));
+    }
+
+    @Test
+    public void testMissingKeyFailsStartup() {
+        assertThrows(IllegalStateException.class, () -> new PublicUrlGenerator(""));
+        assertThrows(IllegalStateException.class, () -> new PublicUrlGenerator(null));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DtoConverter;
+import com.example.demo.model.Resume;
+import com.example.demo.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "pdf.export.chunk-size=3",
+        "pdf.export.parallelism=2"
+})
+@Import({ResumeService.class, PublicUrlGenerator.class, PublicResumeCache.class, ResumeSearchIndex.class, SkillFacetService.class, DtoConverter.class, PdfRenderCache.class, PdfService.class, PdfTemplateRegistry.class, ResumeExportService.class})
+public class ResumeExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ResumeExportService exportService;
+
+    @Test
+    public void testExportStreamsEveryResumeOfUserAcrossChunks() throws Exception {
+        User owner = entityManager.persist(new User("export-owner", "owner@example.com", "password"));
+        User other = entityManager.persist(new User("export-other", "other@example.com", "password"));
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 7; i++) {
+            Resume resume = entityManager.persist(new Resume("Resume " + i, owner, null, "Summary " + i,
+                    LocalDateTime.now(), false, "classic", null));
+            expected.add(resume.getId() + "-Resume_" + i + ".pdf");
+        }
+        entityManager.persist(new Resume("Not exported", other, null, null, LocalDateTime.now(), true, "classic", null));
+        entityManager.flush();
+        entityManager.clear();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportZip(owner.getId(), false, out);
+
+        Set<String> entries = new HashSet<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.add(entry.getName());
+                assertTrue(new String(zip.readAllBytes(), 0, 4).startsWith("%PDF"));
+            }
+        }
+
+        assertEquals(expected, entries);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ExperienceDto;
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.SkillDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResumeHtmlRendererTest {
+
+    private ResumeHtmlRenderer renderer;
+    private ResumeDto resume;
+
+    @BeforeEach
+    public void setup() {
+        renderer = new ResumeHtmlRenderer(1024 * 1024, true, 0);
+        renderer.init();
+
+        resume = new ResumeDto();
+        resume.setId(1L);
+        resume.setTitle("Backend <Engineer>");
+        resume.setPersonalInfo("Email: test@example.com\nPhone: 123");
+        resume.setSummary("Builds services");
+        ExperienceDto experience = new ExperienceDto();
+        experience.setCompany("Acme");
+        experience.setPosition("Developer");
+        experience.setStartDate("2020-01-01");
+        experience.setIsCurrent(true);
+        resume.getExperiences().add(experience);
+        SkillDto skill = new SkillDto();
+        skill.setName("Java");
+        skill.setProficiencyLevel("EXPERT");
+        resume.getSkills().add(skill);
+    }
+
+    @Test
+    public void testEveryTemplateRendersEscapedContent() {
+        for (String templateName : new String[] {"classic", "modern", "minimalist", "professional", "creative", "unknown"}) {
+            resume.setTemplateName(templateName);
+            String html = new String(renderer.renderHtml(resume), StandardCharsets.UTF_8);
+
+            assertTrue(html.startsWith("<!DOCTYPE html>"), templateName);
+            assertTrue(html.contains("<title>Backend &lt;Engineer&gt;</title>"), templateName);
+            assertTrue(html.contains("Developer"), templateName);
+            assertTrue(html.contains("present"), templateName);
+            assertTrue(html.contains("Java <small>expert</small>"), templateName);
+            assertFalse(html.contains("<h2>Education</h2>"), templateName);
+        }
+    }
+
+    @Test
+    public void testPagesAreCachedPerVersion() {
+        AtomicInteger loads = new AtomicInteger();
+
+        ResumeHtmlRenderer.Page first = renderer.render(1L, 0L, () -> { loads.incrementAndGet(); return resume; });
+        ResumeHtmlRenderer.Page second = renderer.render(1L, 0L, () -> { loads.incrementAndGet(); return resume; });
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+
+        resume.setTitle("Renamed");
+        ResumeHtmlRenderer.Page updated = renderer.render(1L, 1L, () -> { loads.incrementAndGet(); return resume; });
+        assertEquals(2, loads.get());
+        assertTrue(new String(updated.getHtml(), StandardCharsets.UTF_8).contains("Renamed"));
+
+        assertNull(renderer.render(2L, 0L, () -> null));
+    }
+
+    @Test
+    public void testPagesKeepGzipCopyAboveThreshold() throws IOException {
+        ResumeHtmlRenderer.Page page = renderer.render(1L, 0L, () -> resume);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(page.getGzip()))) {
+            assertArrayEquals(page.getHtml(), in.readAllBytes());
+        }
+
+        ResumeHtmlRenderer small = new ResumeHtmlRenderer(1024 * 1024, true, Integer.MAX_VALUE);
+        small.init();
+        assertNull(small.render(1L, 0L, () -> resume).getGzip());
+    }
+
+    @Test
+    public void testStructuredPersonalInfoIsRenderedAsFields() {
+        resume.setPersonalInfo("{\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"jane@example.com\",\"photo\":\"\"}");
+        String html = new String(renderer.renderHtml(resume), StandardCharsets.UTF_8);
+
+        assertTrue(html.contains("<span>Jane Doe</span>"));
+        assertTrue(html.contains("<span>jane@example.com</span>"));
+        assertFalse(html.contains("firstName"));
+    }
+}
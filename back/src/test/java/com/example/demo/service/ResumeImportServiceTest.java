@@ -0,0 +1,98 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DtoConverter;
+import com.example.demo.dto.ResumeImportResult;
+import com.example.demo.model.Resume;
+import com.example.demo.model.User;
+import com.example.demo.repository.ResumeRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "resume.import.chunk-size=3"
+})
+@Import({ResumeImportService.class, ResumeService.class, PublicUrlGenerator.class, PublicResumeCache.class, ResumeSearchIndex.class, SkillFacetService.class, DtoConverter.class, PdfRenderCache.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+// Each import chunk commits on its own, as it does outside of tests
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ResumeImportServiceTest {
+
+    @Autowired
+    private ResumeImportService resumeImportService;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        user = userRepository.save(new User("import-user", "import@example.com", "password"));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        resumeRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testNdjsonImportReportsBadRecordsAndKeepsTheRest() throws Exception {
+        String body = String.join("\n",
+                "{\"title\":\"One\",\"skills\":[{\"name\":\"Java\"}]}",
+                "{\"title\":\"Two\"}",
+                "{\"title\":\"Orphan\",\"userId\":999999}",
+                "{\"summary\":\"no title\"}",
+                "42",
+                "{\"title\":\"Three\",\"educations\":[{\"institution\":\"Uni\",\"degree\":\"BSc\"}]}",
+                "{\"title\":\"Four\"}");
+
+        ResumeImportResult result = resumeImportService.importResumes(stream(body), user.getId(), true);
+
+        assertEquals(7, result.getReceived());
+        assertEquals(4, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(2, 3, 4), result.getErrors().stream().map(ResumeImportResult.RecordError::getIndex).toList());
+        assertTrue(result.getErrors().get(0).getMessage().contains("999999"));
+        List<Resume> resumes = resumeRepository.findAll();
+        assertEquals(4, resumes.size());
+        assertTrue(resumes.stream().allMatch(resume -> resume.getUser().getId().equals(user.getId())));
+    }
+
+    @Test
+    public void testJsonArrayImportStopsAtMalformedJson() throws Exception {
+        String body = "[{\"title\":\"One\"},{\"title\":\"Two\",\"userId\":999999},{\"title\":";
+
+        ResumeImportResult result = resumeImportService.importResumes(stream(body), user.getId(), false);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getIndex());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+        assertEquals(2, resumeRepository.count());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DtoConverter;
+import com.example.demo.dto.EducationDto;
+import com.example.demo.dto.ExperienceDto;
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.SkillDto;
+import com.example.demo.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import({ResumeService.class, PublicUrlGenerator.class, PublicResumeCache.class, ResumeSearchIndex.class, SkillFacetService.class, DtoConverter.class, PdfRenderCache.class})
+public class ResumeServiceBatchInsertTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Test
+    public void testResumeWithHundredChildrenPersistsInAHandfulOfStatements() {
+        User user = entityManager.persist(new User("batch-user", "batch@example.com", "password"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // The first import also initializes the pooled sequences (two calls each on a fresh sequence);
+        // measure the second one, which is what a running application sees
+        resumeService.createResume(resumeWithChildren(user.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ResumeDto created = resumeService.createResume(resumeWithChildren(user.getId()));
+        entityManager.flush();
+
+        assertEquals(101, statistics.getEntityInsertCount());
+        assertEquals(100, created.getEducations().size() + created.getExperiences().size() + created.getSkills().size());
+        // user lookup, resume insert, batched child inserts and at most one sequence call per child table,
+        // instead of one insert round trip per child
+        assertTrue(statistics.getPrepareStatementCount() <= 8,
+                "expected at most 8 statements, got " + statistics.getPrepareStatementCount());
+    }
+
+    private ResumeDto resumeWithChildren(Long userId) {
+        ResumeDto resume = new ResumeDto();
+        resume.setTitle("Bulk import");
+        resume.setUserId(userId);
+        Set<EducationDto> educations = new HashSet<>();
+        Set<ExperienceDto> experiences = new HashSet<>();
+        Set<SkillDto> skills = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            educations.add(new EducationDto(null, "University " + i, "BSc", "CS", "2010", "2014", null, null));
+            experiences.add(new ExperienceDto(null, "Company " + i, "Engineer", "2015", null, false, null, null, null));
+        }
+        for (int i = 0; i < 60; i++) {
+            skills.add(new SkillDto(null, "Skill " + i, "Intermediate", null));
+        }
+        resume.setEducations(educations);
+        resume.setExperiences(experiences);
+        resume.setSkills(skills);
+        return resume;
+    }
+}
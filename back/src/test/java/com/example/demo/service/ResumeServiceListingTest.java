@@ -0,0 +1,135 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DtoConverter;
+import com.example.demo.dto.PageResponse;
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.ResumeStamp;
+import com.example.demo.dto.ResumeSummary;
+import com.example.demo.model.Resume;
+import com.example.demo.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({ResumeService.class, PublicUrlGenerator.class, PublicResumeCache.class, ResumeSearchIndex.class, SkillFacetService.class, DtoConverter.class, PdfRenderCache.class})
+public class ResumeServiceListingTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ResumeService resumeService;
+
+    private final List<Long> publicIdsNewestFirst = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        User user = new User("listing-user", "listing@example.com", "password");
+        entityManager.persist(user);
+
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < 25; i++) {
+            // pairs of resumes share a timestamp so the id tie-breaker is exercised
+            Resume resume = new Resume("Resume " + i, user, null, null,
+                    base.plusMinutes(i / 2), i % 5 != 0, "classic", null);
+            entityManager.persist(resume);
+            if (Boolean.TRUE.equals(resume.getIsPublic())) {
+                publicIdsNewestFirst.add(0, resume.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testKeysetPagesVisitEveryPublicResumeOnce() {
+        List<Long> visited = new ArrayList<>();
+        PageResponse<ResumeDto> page = resumeService.listResumes(true, null, 7, null, "");
+        visited.addAll(ids(page));
+        while (page.getNextCursor() != null) {
+            page = resumeService.listResumes(true, null, 7, null, page.getNextCursor());
+            visited.addAll(ids(page));
+        }
+
+        assertEquals(publicIdsNewestFirst, visited);
+    }
+
+    @Test
+    public void testOffsetPageHandsOverToKeyset() {
+        PageResponse<ResumeDto> first = resumeService.listResumes(false, 0, 10, null, null);
+
+        assertEquals(0, first.getPage());
+        assertEquals(25L, first.getTotalElements());
+        assertNotNull(first.getNextCursor());
+
+        PageResponse<ResumeDto> second = resumeService.listResumes(false, null, 10, null, first.getNextCursor());
+        PageResponse<ResumeDto> offsetSecond = resumeService.listResumes(false, 1, 10, null, null);
+        assertEquals(ids(offsetSecond), ids(second));
+    }
+
+    @Test
+    public void testSummaryListingReturnsProjections() {
+        PageResponse<ResumeSummary> unpaged = resumeService.listResumeSummaries(true, null, null, null);
+        assertEquals(publicIdsNewestFirst.size(), unpaged.getContent().size());
+        assertNull(unpaged.getPage());
+
+        PageResponse<ResumeSummary> page = resumeService.listResumeSummaries(true, 0, 5, null);
+        assertEquals(publicIdsNewestFirst.subList(0, 5),
+                page.getContent().stream().map(ResumeSummary::getId).toList());
+        assertTrue(page.getContent().stream().allMatch(summary -> Boolean.TRUE.equals(summary.getIsPublic())
+                && "classic".equals(summary.getTemplateName())
+                && summary.getCreatedAt() != null));
+    }
+
+    @Test
+    public void testInvalidParametersAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> resumeService.listResumes(true, null, 500, null, null));
+        assertThrows(IllegalArgumentException.class, () -> resumeService.listResumes(true, 0, 10, "password", null));
+        assertThrows(IllegalArgumentException.class, () -> resumeService.listResumes(true, null, 10, null, "garbage"));
+    }
+
+    @Test
+    public void testStampFallsBackToCreatedAtAndChangesOnUpdate() {
+        Long id = publicIdsNewestFirst.get(0);
+        ResumeStamp before = resumeService.getResumeStamp(id).orElseThrow();
+        assertNull(before.getUpdatedAt());
+        assertNotNull(before.etag("json"));
+
+        ResumeDto update = resumeService.getResumeById(id).orElseThrow();
+        update.setTitle("Renamed");
+        ResumeDto updated = resumeService.updateResume(id, update).orElseThrow();
+
+        ResumeStamp after = resumeService.getResumeStamp(id).orElseThrow();
+        assertNotNull(after.getUpdatedAt());
+        assertNotEquals(before.etag("json"), after.etag("json"));
+        assertEquals(after.getVersion(), updated.getVersion());
+    }
+
+    @Test
+    public void testSearchWithoutFullTextIndexMatchesPublicTitles() {
+        // "Resume 1" matches 1 and 10-19; 10 and 15 are private
+        PageResponse<ResumeSummary> results = resumeService.searchPublicResumes("resume 1", 0, 20);
+
+        assertEquals(9L, results.getTotalElements());
+        assertTrue(results.getContent().stream().allMatch(summary -> Boolean.TRUE.equals(summary.getIsPublic())
+                && summary.getTitle().startsWith("Resume 1")));
+        assertThrows(IllegalArgumentException.class, () -> resumeService.searchPublicResumes(" ", null, null));
+    }
+
+    private List<Long> ids(PageResponse<ResumeDto> page) {
+        return page.getContent().stream().map(ResumeDto::getId).toList();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DtoConverter;
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.model.Education;
+import com.example.demo.model.Experience;
+import com.example.demo.model.Resume;
+import com.example.demo.model.Skill;
+import com.example.demo.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import({ResumeService.class, PublicUrlGenerator.class, PublicResumeCache.class, ResumeSearchIndex.class, SkillFacetService.class, DtoConverter.class, PdfRenderCache.class})
+public class ResumeServiceQueryCountTest {
+
+    private static final int RESUME_COUNT = 500;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ResumeService resumeService;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        user = new User("listing-user", "listing@example.com", "password");
+        entityManager.persist(user);
+
+        for (int i = 0; i < RESUME_COUNT; i++) {
+            Resume resume = new Resume("Resume " + i, user, null, "Summary " + i,
+                    LocalDateTime.now(), i % 2 == 0, "classic", i % 2 == 0 ? "url" + i : null);
+            resume.getEducations().add(new Education(resume, "University " + i, "BSc", "CS", "2010", "2014", null));
+            resume.getExperiences().add(new Experience(resume, "Company " + i, "Developer", "2014", null, true, null, null));
+            resume.getSkills().add(new Skill(resume, "Java", "Expert"));
+            entityManager.persist(resume);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testGetAllResumesUsesConstantNumberOfStatements() {
+        List<ResumeDto> resumes = resumeService.getAllResumes();
+
+        assertEquals(RESUME_COUNT, resumes.size());
+        assertTrue(resumes.stream().allMatch(r -> r.getEducations().size() == 1
+                && r.getExperiences().size() == 1
+                && r.getSkills().size() == 1));
+        // one statement for the resumes with their owner, one per child collection
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testGetResumesByUserIdUsesConstantNumberOfStatements() {
+        List<ResumeDto> resumes = resumeService.getResumesByUserId(user.getId());
+
+        assertEquals(RESUME_COUNT, resumes.size());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testGetAllPublicResumesUsesConstantNumberOfStatements() {
+        List<ResumeDto> resumes = resumeService.getAllPublicResumes();
+
+        assertEquals(RESUME_COUNT / 2, resumes.size());
+        assertTrue(resumes.stream().allMatch(r -> r.getSkills().size() == 1));
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.DtoConverter;
 import com.example.demo.dto.EducationDto;
 import com.example.demo.dto.ExperienceDto;
 import com.example.demo.dto.ResumeDto;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -34,6 +36,24 @@ public class ResumeServiceTest {
     
     @Mock
     private UserRepository userRepository;
+    
+    @Mock
+    private PdfRenderCache pdfRenderCache;
+    
+    @Mock
+    private ResumeSearchIndex searchIndex;
+    
+    @Mock
+    private SkillFacetService skillFacetService;
+
+    @Mock
+    private PublicUrlGenerator publicUrlGenerator;
+
+    @Mock
+    private PublicResumeCache publicResumeCache;
+    
+    @Spy
+    private DtoConverter dtoConverter = new DtoConverter();
 
     @InjectMocks
     private ResumeService resumeService;
@@ -128,14 +148,14 @@ public class ResumeServiceTest {
         List<Resume> mockResumes = new ArrayList<>();
         mockResumes.add(testResume);
         
-        when(resumeRepository.findAll()).thenReturn(mockResumes);
+        when(resumeRepository.findAllWithUser()).thenReturn(mockResumes);
         
         List<ResumeDto> result = resumeService.getAllResumes();
         
         assertEquals(1, result.size());
         assertEquals(testResumeDto.getId(), result.get(0).getId());
         assertEquals(testResumeDto.getTitle(), result.get(0).getTitle());
-        verify(resumeRepository, times(1)).findAll();
+        verify(resumeRepository, times(1)).findAllWithUser();
     }
 
     @Test
@@ -165,14 +185,14 @@ public class ResumeServiceTest {
         List<Resume> mockResumes = new ArrayList<>();
         mockResumes.add(testResume);
         
-        when(resumeRepository.findByUserId(1L)).thenReturn(mockResumes);
+        when(resumeRepository.findWithUserByUserId(1L)).thenReturn(mockResumes);
         
         List<ResumeDto> result = resumeService.getResumesByUserId(1L);
         
         assertEquals(1, result.size());
         assertEquals(testResumeDto.getId(), result.get(0).getId());
         assertEquals(testResumeDto.getTitle(), result.get(0).getTitle());
-        verify(resumeRepository, times(1)).findByUserId(1L);
+        verify(resumeRepository, times(1)).findWithUserByUserId(1L);
     }
 
     @Test
@@ -191,7 +211,7 @@ public class ResumeServiceTest {
     @Test
     public void testUpdateResume() {
         when(resumeRepository.findById(1L)).thenReturn(Optional.of(testResume));
-        when(resumeRepository.save(any(Resume.class))).thenReturn(testResume);
+        when(resumeRepository.saveAndFlush(any(Resume.class))).thenReturn(testResume);
         
         testResumeDto.setTitle("Updated Resume Title");
         
@@ -200,7 +220,7 @@ public class ResumeServiceTest {
         assertTrue(result.isPresent());
         assertEquals("Updated Resume Title", result.get().getTitle());
         verify(resumeRepository, times(1)).findById(1L);
-        verify(resumeRepository, times(1)).save(any(Resume.class));
+        verify(resumeRepository, times(1)).saveAndFlush(any(Resume.class));
     }
 
     @Test
@@ -211,5 +231,6 @@ public class ResumeServiceTest {
         
         // 
         verify(resumeRepository, times(1)).deleteById(1L);
+        verify(pdfRenderCache, times(1)).invalidate(1L);
     }
 }
@@ -0,0 +1,178 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DtoConverter;
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.SkillDto;
+import com.example.demo.model.PersonalInfo;
+import com.example.demo.model.Resume;
+import com.example.demo.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@Import({ResumeService.class, PublicUrlGenerator.class, PublicResumeCache.class, ResumeSearchIndex.class, SkillFacetService.class, DtoConverter.class, PdfRenderCache.class})
+public class ResumeServiceUpdateTest {
+
+    private static final int SKILL_COUNT = 40;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ResumeService resumeService;
+
+    private Statistics statistics;
+    private ResumeDto created;
+
+    @BeforeEach
+    public void setup() {
+        User user = entityManager.persist(new User("update-user", "update@example.com", "password"));
+
+        ResumeDto resume = new ResumeDto();
+        resume.setTitle("Engineer");
+        resume.setUserId(user.getId());
+        Set<SkillDto> skills = new HashSet<>();
+        for (int i = 0; i < SKILL_COUNT; i++) {
+            skills.add(new SkillDto(null, "Skill " + i, "Intermediate", null));
+        }
+        resume.setSkills(skills);
+        created = resumeService.createResume(resume);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testEditingOneSkillOnlyTouchesChangedRows() {
+        assertEquals(SKILL_COUNT, created.getSkills().size());
+
+        ResumeDto update = resumeService.getResumeById(created.getId()).orElseThrow();
+        Map<String, SkillDto> byName = update.getSkills().stream()
+                .collect(Collectors.toMap(SkillDto::getName, skill -> skill));
+        byName.get("Skill 0").setProficiencyLevel("Expert");
+        update.getSkills().remove(byName.get("Skill 1"));
+        update.getSkills().add(new SkillDto(null, "Skill new", "Beginner", null));
+        statistics.clear();
+
+        ResumeDto updated = resumeService.updateResume(created.getId(), update).orElseThrow();
+        entityManager.flush();
+
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityDeleteCount());
+        // the edited skill plus the resume itself (updated_at and version)
+        assertEquals(2, statistics.getEntityUpdateCount());
+        assertEquals(SKILL_COUNT, updated.getSkills().size());
+        assertEquals(byName.get("Skill 2").getId(), updated.getSkills().stream()
+                .filter(skill -> skill.getName().equals("Skill 2")).findFirst().orElseThrow().getId());
+    }
+
+    @Test
+    public void testStaleVersionIsRejected() {
+        ResumeDto first = resumeService.getResumeById(created.getId()).orElseThrow();
+        ResumeDto second = resumeService.getResumeById(created.getId()).orElseThrow();
+
+        first.setTitle("First edit");
+        resumeService.updateResume(created.getId(), first);
+        entityManager.flush();
+
+        second.setTitle("Second edit");
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> resumeService.updateResume(created.getId(), second));
+    }
+
+    @Test
+    public void testReturnedVersionCanBeSentBack() {
+        ResumeDto first = resumeService.getResumeById(created.getId()).orElseThrow();
+        first.setTitle("First edit");
+        ResumeDto saved = resumeService.updateResume(created.getId(), first).orElseThrow();
+        assertEquals(first.getVersion() + 1, saved.getVersion());
+
+        // The form sends back what the last save returned, without reloading
+        saved.setTitle("Second edit");
+        ResumeDto savedAgain = resumeService.updateResume(created.getId(), saved).orElseThrow();
+        ResumeDto published = resumeService.makeResumePublic(created.getId(), created.getUserId());
+        ResumeDto unpublished = resumeService.makeResumePrivate(created.getId(), created.getUserId());
+        entityManager.clear();
+
+        Long stored = entityManager.find(Resume.class, created.getId()).getVersion();
+        assertEquals(saved.getVersion() + 3, stored);
+        assertEquals(savedAgain.getVersion() + 2, stored);
+        assertEquals(published.getVersion() + 1, stored);
+        assertEquals(unpublished.getVersion(), stored);
+    }
+
+    @Test
+    public void testPersonalInfoIsStoredAsTypedColumns() {
+        ResumeDto update = resumeService.getResumeById(created.getId()).orElseThrow();
+        update.setPersonalInfo("{\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"jane@example.com\",\"phone\":\"\"}");
+        resumeService.updateResume(created.getId(), update);
+        entityManager.flush();
+        entityManager.clear();
+
+        PersonalInfo stored = entityManager.find(Resume.class, created.getId()).getPersonalDetails();
+        assertTrue(stored.isStructured());
+        assertEquals("Jane Doe", stored.getFullName());
+        assertEquals("jane@example.com", stored.getEmail());
+        assertEquals("", stored.getPhone());
+        assertNull(stored.getAddress());
+        entityManager.clear();
+
+        ResumeDto loaded = resumeService.getResumeById(created.getId()).orElseThrow();
+        assertEquals(new JSONObject(update.getPersonalInfo()).toMap(), new JSONObject(loaded.getPersonalInfo()).toMap());
+        assertEquals("jane@example.com", loaded.getPersonalDetails().getEmail());
+
+        // Anything that is not a JSON object is kept verbatim
+        loaded.setPersonalInfo("{not json\nPhone: 123");
+        resumeService.updateResume(created.getId(), loaded);
+        entityManager.flush();
+        entityManager.clear();
+
+        ResumeDto text = resumeService.getResumeById(created.getId()).orElseThrow();
+        assertEquals("{not json\nPhone: 123", text.getPersonalInfo());
+        assertFalse(text.getPersonalDetails().isStructured());
+    }
+
+    @Test
+    public void testPersonalInfoKeysWithoutColumnsRoundTrip() {
+        ResumeDto update = resumeService.getResumeById(created.getId()).orElseThrow();
+        update.setPersonalInfo("{\"firstName\":\"Jane\",\"position\":\"Designer\",\"phone\":380501234567," +
+                "\"email\":null,\"links\":{\"github\":\"jane\"},\"tags\":[\"a\",1]}");
+        resumeService.updateResume(created.getId(), update);
+        entityManager.flush();
+        entityManager.clear();
+
+        PersonalInfo stored = entityManager.find(Resume.class, created.getId()).getPersonalDetails();
+        assertEquals("Jane", stored.getFirstName());
+        // Not a string, so it stays in the extra keys with its type instead of becoming "380501234567"
+        assertNull(stored.getPhone());
+        entityManager.clear();
+
+        ResumeDto loaded = resumeService.getResumeById(created.getId()).orElseThrow();
+        assertTrue(new JSONObject(update.getPersonalInfo()).similar(new JSONObject(loaded.getPersonalInfo())));
+    }
+}
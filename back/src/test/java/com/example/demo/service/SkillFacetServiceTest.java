@@ -0,0 +1,118 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DtoConverter;
+import com.example.demo.dto.PageResponse;
+import com.example.demo.dto.ResumeDto;
+import com.example.demo.dto.ResumeSummary;
+import com.example.demo.dto.SkillCount;
+import com.example.demo.dto.SkillDto;
+import com.example.demo.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({ResumeService.class, PublicUrlGenerator.class, PublicResumeCache.class, ResumeSearchIndex.class, SkillFacetService.class, DtoConverter.class, PdfRenderCache.class})
+public class SkillFacetServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ResumeService resumeService;
+
+    @Autowired
+    private SkillFacetService skillFacetService;
+
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        user = entityManager.persist(new User("facet-user", "facet@example.com", "password"));
+        entityManager.flush();
+    }
+
+    @Test
+    public void testCountsFollowResumeWrites() {
+        ResumeDto first = resumeService.createResume(resume("Backend", true,
+                skill("Java", "EXPERT"), skill("Kubernetes", "ADVANCED")));
+        resumeService.createResume(resume("Intern", true, skill(" java ", "BEGINNER")));
+        resumeService.createResume(resume("Draft", false, skill("Rust", "EXPERT")));
+
+        assertEquals(Map.of("java", 2L, "kubernetes", 1L), counts());
+
+        // Dropping a skill and then hiding the resume take it out of the counts
+        first.setSkills(first.getSkills().stream()
+                .filter(skill -> skill.getName().equals("Java"))
+                .collect(Collectors.toSet()));
+        first = resumeService.updateResume(first.getId(), first).orElseThrow();
+        assertEquals(Map.of("java", 2L), counts());
+
+        resumeService.makeResumePrivate(first.getId(), user.getId());
+        assertEquals(Map.of("java", 1L), counts());
+
+        // The incrementally maintained table matches a full recount
+        entityManager.flush();
+        skillFacetService.rebuild();
+        entityManager.clear();
+        assertEquals(Map.of("java", 1L), counts());
+    }
+
+    @Test
+    public void testResumesMatchEverySkillAtMinimumProficiency() {
+        ResumeDto senior = resumeService.createResume(resume("Senior", true,
+                skill("Java", "EXPERT"), skill("Kubernetes", "ADVANCED")));
+        resumeService.createResume(resume("Junior", true,
+                skill("Java", "INTERMEDIATE"), skill("Kubernetes", "ADVANCED")));
+        resumeService.createResume(resume("Java only", true, skill("Java", "EXPERT")));
+        entityManager.flush();
+
+        PageResponse<ResumeSummary> both = resumeService.findPublicResumesBySkills(
+                List.of("java", "KUBERNETES"), null, null, null);
+        assertEquals(2L, both.getTotalElements());
+
+        PageResponse<ResumeSummary> advanced = resumeService.findPublicResumesBySkills(
+                List.of("java", "kubernetes"), "advanced", null, null);
+        assertEquals(List.of(senior.getId()), advanced.getContent().stream().map(ResumeSummary::getId).toList());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> resumeService.findPublicResumesBySkills(List.of("java"), "guru", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> resumeService.findPublicResumesBySkills(List.of(" "), null, null, null));
+    }
+
+    private Map<String, Long> counts() {
+        return skillFacetService.topSkills(null, 100).stream()
+                .collect(Collectors.toMap(SkillCount::getName, SkillCount::getPublicResumeCount));
+    }
+
+    private ResumeDto resume(String title, boolean isPublic, SkillDto... skills) {
+        ResumeDto resume = new ResumeDto();
+        resume.setTitle(title);
+        resume.setUserId(user.getId());
+        resume.setIsPublic(isPublic);
+        resume.setSkills(new HashSet<>(Set.of(skills)));
+        return resume;
+    }
+
+    private static SkillDto skill(String name, String proficiencyLevel) {
+        SkillDto skill = new SkillDto();
+        skill.setName(name);
+        skill.setProficiencyLevel(proficiencyLevel);
+        return skill;
+    }
+}
@@ -63,6 +63,8 @@ const ResumeForm = () => {
   
   const formik = useFormik({
     initialValues: {
+      // Version of the loaded resume; the server answers 409 if someone saved a newer one meanwhile
+      version: null,
       title: "",
       personalInfo: JSON.stringify({
         firstName: "",
@@ -122,6 +124,7 @@ const ResumeForm = () => {
         };
 
         const dataToSubmit = {
+          version: values.version,
           title: values.title,
           personalInfo: JSON.stringify(personalInfoObj),
           summary: values.summary,
@@ -142,9 +145,15 @@ const ResumeForm = () => {
         }, 2000);
       } catch (error) {
         console.error("Error submitting resume:", error);
-        setServerError(
-          "Не вдалося зберегти резюме. Будь ласка, перевірте введені дані та спробуйте знову."
-        );
+        if (error.response && error.response.status === 409) {
+          setServerError(
+            "Резюме було змінено в іншому місці. Оновіть сторінку, щоб побачити останню версію, і внесіть зміни знову."
+          );
+        } else {
+          setServerError(
+            "Не вдалося зберегти резюме. Будь ласка, перевірте введені дані та спробуйте знову."
+          );
+        }
       } finally {
         setLoading(false);
       }
@@ -187,6 +196,7 @@ const ResumeForm = () => {
           }
 
           formik.setValues({
+            version: response.data.version ?? null,
             title: response.data.title || "",
             personalInfo:
               typeof response.data.personalInfo === "string"